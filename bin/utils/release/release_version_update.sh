@@ -72,6 +72,7 @@ echo "Release preparation: Moving from $version to next $inc version."
 # These files should wrap target version replacement blocks with <!-- RELEASE_VERSION --> and <!-- /RELEASE_VERSION -->
 # We can include xml and md files here.
 declare -a xml_files=(
+    "${root}/modules/openapi-generator-benchmarks/pom.xml"
     "${root}/modules/openapi-generator-cli/pom.xml"
     "${root}/modules/openapi-generator-gradle-plugin/pom.xml"
     "${root}/modules/openapi-generator-core/pom.xml"
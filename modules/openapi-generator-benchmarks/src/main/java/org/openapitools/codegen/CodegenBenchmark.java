@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the conversion of all schemas ({@link CodegenConfig#fromModel(String, Schema)}) and all operations
+ * ({@link CodegenConfig#fromOperation(String, String, Operation, java.util.List)}) of a preprocessed spec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss8m", "-Dorg.slf4j.simpleLogger.defaultLogLevel=error"})
+public class CodegenBenchmark {
+    @Param({"java"})
+    public String generatorName;
+
+    @Param({"FLAT", "DEEP_ALLOF", "WIDE_ONEOF"})
+    public SyntheticSpecs.Shape shape;
+
+    @Param({"1000", "10000"})
+    public int schemaCount;
+
+    private OpenAPI openAPI;
+    private CodegenConfig config;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        openAPI = SyntheticSpecs.create(shape, schemaCount);
+        config = SyntheticSpecs.prepareConfig(generatorName, openAPI);
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        for (Map.Entry<String, Schema> entry : openAPI.getComponents().getSchemas().entrySet()) {
+            blackhole.consume(config.fromModel(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (Map.Entry<String, PathItem> entry : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> operation : entry.getValue().readOperationsMap().entrySet()) {
+                blackhole.consume(config.fromOperation(entry.getKey(), operation.getKey().name().toLowerCase(Locale.ROOT),
+                        operation.getValue(), null));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput of {@link DefaultGenerator#generate()}, either in dry-run mode (templates are rendered,
+ * nothing is written) or writing files through the regular {@link org.openapitools.codegen.TemplateManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xss8m", "-Dorg.slf4j.simpleLogger.defaultLogLevel=error"})
+public class GenerateBenchmark {
+    @Param({"java"})
+    public String generatorName;
+
+    @Param({"FLAT", "DEEP_ALLOF", "WIDE_ONEOF"})
+    public SyntheticSpecs.Shape shape;
+
+    @Param({"1000", "10000"})
+    public int schemaCount;
+
+    @Param({"true", "false"})
+    public boolean dryRun;
+
+    private Path outputDir;
+    private ClientOptInput input;
+
+    @Setup(Level.Trial)
+    public void createOutputDirectory() throws IOException {
+        outputDir = SyntheticSpecs.createOutputDirectory();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareInput() {
+        // the spec and the generator are both modified during generation
+        CodegenConfig config = CodegenConfigLoader.forName(generatorName);
+        config.setOutputDir(outputDir.toAbsolutePath().toString());
+        config.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        input = new ClientOptInput()
+                .openAPI(SyntheticSpecs.create(shape, schemaCount))
+                .config(config);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutputDirectory() throws IOException {
+        FileUtils.deleteDirectory(outputDir.toFile());
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return new DefaultGenerator(dryRun).opts(input).generate();
+    }
+}
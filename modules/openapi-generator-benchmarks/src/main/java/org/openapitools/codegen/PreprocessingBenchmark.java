@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the spec preprocessing phases: {@link OpenAPINormalizer#normalize()} with its default rules and
+ * {@link InlineModelResolver#flatten(OpenAPI)}. Both modify the spec, so a new one is built before every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss8m", "-Dorg.slf4j.simpleLogger.defaultLogLevel=error"})
+public class PreprocessingBenchmark {
+    @Param({"FLAT", "DEEP_ALLOF", "WIDE_ONEOF"})
+    public SyntheticSpecs.Shape shape;
+
+    @Param({"1000", "10000"})
+    public int schemaCount;
+
+    private OpenAPI openAPI;
+
+    @Setup(Level.Invocation)
+    public void createSpec() {
+        openAPI = SyntheticSpecs.create(shape, schemaCount);
+    }
+
+    @Benchmark
+    public OpenAPI normalize() {
+        OpenAPINormalizer.createNormalizer(openAPI, new HashMap<>()).normalize();
+        return openAPI;
+    }
+
+    @Benchmark
+    public OpenAPI flatten() {
+        new InlineModelResolver().flatten(openAPI);
+        return openAPI;
+    }
+}
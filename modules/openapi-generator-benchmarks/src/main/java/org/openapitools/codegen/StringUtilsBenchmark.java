@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link StringUtils#camelize(String)} and {@link StringUtils#underscore(String)} over a set of
+ * identifiers. A small set is served from the caches of {@link StringUtils}, a large one mostly isn't.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+    private static final String[] PATTERNS = {
+            "pet_store_item_%d", "PetStoreItem%d", "x-rate-limit-%d", "get_user.by$name_%d", "HTTPResponseCode%d", "%d_leading_digit"
+    };
+
+    @Param({"100", "100000"})
+    public int wordCount;
+
+    private String[] words;
+
+    @Setup
+    public void createWords() {
+        words = new String[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = String.format(Locale.ROOT, PATTERNS[i % PATTERNS.length], i);
+        }
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.camelize(word));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.underscore(word));
+        }
+    }
+}
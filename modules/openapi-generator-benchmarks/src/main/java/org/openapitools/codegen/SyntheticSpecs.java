@@ -0,0 +1,246 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Builds synthetic specs of configurable size for the benchmarks, so that results don't depend on files on disk.
+ * <p>
+ * Specs are built from scratch on every call as the generation pipeline (normalizer, inline model resolver)
+ * mutates the spec it processes.
+ */
+public final class SyntheticSpecs {
+    /**
+     * Number of schemas per tag / path group.
+     */
+    private static final int GROUP_SIZE = 10;
+
+    /**
+     * Maximum depth of an allOf chain in the {@link Shape#DEEP_ALLOF} spec.
+     */
+    static final int ALLOF_DEPTH = 50;
+
+    /**
+     * Maximum number of alternatives of a oneOf schema in the {@link Shape#WIDE_ONEOF} spec.
+     */
+    static final int ONEOF_WIDTH = 100;
+
+    public enum Shape {
+        /**
+         * Independent object schemas referencing each other, with inline objects to flatten.
+         */
+        FLAT,
+        /**
+         * Schemas extending each other with allOf, in chains of {@link #ALLOF_DEPTH} schemas.
+         */
+        DEEP_ALLOF,
+        /**
+         * Schemas grouped under oneOf schemas with a discriminator, {@link #ONEOF_WIDTH} alternatives each.
+         */
+        WIDE_ONEOF
+    }
+
+    private SyntheticSpecs() {
+    }
+
+    /**
+     * @param shape       The structure of the schemas
+     * @param schemaCount The number of component schemas (excluding the oneOf parents)
+     * @return A new spec, with one tag and a CRUD path per {@value #GROUP_SIZE} schemas
+     */
+    static OpenAPI create(Shape shape, int schemaCount) {
+        OpenAPI openAPI = new OpenAPI()
+                .openapi("3.0.1")
+                .info(new Info().title("Synthetic " + shape + " " + schemaCount).version("1.0.0"))
+                .components(new Components().schemas(new HashMap<>()))
+                .paths(new Paths());
+
+        for (int i = 0; i < schemaCount; i++) {
+            String name = schemaName(i);
+            Schema<?> schema;
+            switch (shape) {
+                case DEEP_ALLOF:
+                    schema = i % ALLOF_DEPTH == 0
+                            ? objectSchema(i, schemaCount)
+                            : new ComposedSchema().allOf(Arrays.asList(ref(schemaName(i - 1)), objectSchema(i, schemaCount)));
+                    break;
+                case WIDE_ONEOF:
+                    schema = objectSchema(i, schemaCount).addProperty("kind", new StringSchema());
+                    addOneOfAlternative(openAPI, i, name);
+                    break;
+                default:
+                    schema = objectSchema(i, schemaCount);
+                    break;
+            }
+            openAPI.getComponents().addSchemas(name, schema);
+
+            if (i % GROUP_SIZE == 0) {
+                addPaths(openAPI, i / GROUP_SIZE, name);
+            }
+        }
+        return openAPI;
+    }
+
+    private static String schemaName(int index) {
+        return String.format(Locale.ROOT, "Resource%05d", index);
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref("#/components/schemas/" + name);
+    }
+
+    private static Schema<?> objectSchema(int index, int schemaCount) {
+        ObjectSchema schema = new ObjectSchema();
+        schema.description("Synthetic schema " + index);
+        schema.addProperty("id", new IntegerSchema().format("int64"));
+        schema.addProperty("display_name", new StringSchema().maxLength(255));
+        schema.addProperty("createdAt", new DateTimeSchema());
+        schema.addProperty("status", new StringSchema()._enum(Arrays.asList("available", "pending", "sold")));
+        schema.addProperty("labels", new ArraySchema().items(new StringSchema()));
+        schema.addProperty("attributes", new ObjectSchema().additionalProperties(new StringSchema()));
+        // inline object, extracted as a separate model by the inline model resolver
+        schema.addProperty("metadata", new ObjectSchema()
+                .addProperty("etag", new StringSchema())
+                .addProperty("revision", new IntegerSchema()));
+        // references form a binary tree, so that reference chains (e.g. nested examples) stay shallow
+        if (index > 0) {
+            schema.addProperty("parent", ref(schemaName((index - 1) / 2)));
+        }
+        if (2 * index + 1 < schemaCount) {
+            schema.addProperty("children", new ArraySchema().items(ref(schemaName(2 * index + 1))));
+        }
+        schema.setRequired(Arrays.asList("id", "display_name"));
+        return schema;
+    }
+
+    private static void addOneOfAlternative(OpenAPI openAPI, int index, String name) {
+        String parentName = String.format(Locale.ROOT, "OneOf%05d", index / ONEOF_WIDTH);
+        Schema<?> parent = openAPI.getComponents().getSchemas().get(parentName);
+        if (parent == null) {
+            parent = new ComposedSchema().discriminator(new Discriminator().propertyName("kind"));
+            openAPI.getComponents().addSchemas(parentName, parent);
+        }
+        parent.addOneOfItem(ref(name));
+        parent.getDiscriminator().mapping(name, "#/components/schemas/" + name);
+    }
+
+    private static void addPaths(OpenAPI openAPI, int group, String name) {
+        String tag = "group" + group;
+        String collection = "/" + tag + "/resources";
+
+        Operation list = new Operation()
+                .operationId("list" + name)
+                .addTagsItem(tag)
+                .addParametersItem(new QueryParameter().name("page_size").schema(new IntegerSchema()))
+                .addParametersItem(new QueryParameter().name("filter").schema(new StringSchema()))
+                .responses(jsonResponse(new ArraySchema().items(ref(name))));
+        Operation create = new Operation()
+                .operationId("create" + name)
+                .addTagsItem(tag)
+                .requestBody(new RequestBody().required(true).content(jsonContent(ref(name))))
+                // inline response, extracted as a separate model by the inline model resolver
+                .responses(jsonResponse(new ObjectSchema()
+                        .addProperty("id", new IntegerSchema().format("int64"))
+                        .addProperty("location", new StringSchema())));
+        openAPI.getPaths().addPathItem(collection, new PathItem().get(list).post(create));
+
+        Operation get = new Operation()
+                .operationId("get" + name)
+                .addTagsItem(tag)
+                .addParametersItem(new PathParameter().name("id").required(true).schema(new IntegerSchema().format("int64")))
+                .responses(jsonResponse(ref(name)));
+        Operation delete = new Operation()
+                .operationId("delete" + name)
+                .addTagsItem(tag)
+                .addParametersItem(new PathParameter().name("id").required(true).schema(new IntegerSchema().format("int64")))
+                .responses(new ApiResponses().addApiResponse("204", new ApiResponse().description("Deleted")));
+        openAPI.getPaths().addPathItem(collection + "/{id}", new PathItem().get(get).delete(delete));
+    }
+
+    private static Content jsonContent(Schema<?> schema) {
+        return new Content().addMediaType("application/json", new MediaType().schema(schema));
+    }
+
+    private static ApiResponses jsonResponse(Schema<?> schema) {
+        return new ApiResponses().addApiResponse("200", new ApiResponse().description("OK").content(jsonContent(schema)));
+    }
+
+    /**
+     * Creates a generator configured as {@link DefaultGenerator} does before converting models and operations:
+     * options processed, spec normalized, inline schemas resolved and spec preprocessed.
+     *
+     * @param generatorName The generator name
+     * @param openAPI       The spec, modified in place
+     * @return The configured generator
+     */
+    static CodegenConfig prepareConfig(String generatorName, OpenAPI openAPI) {
+        CodegenConfig config = CodegenConfigLoader.forName(generatorName);
+        config.processOpts();
+        if (config.getUseOpenapiNormalizer()) {
+            OpenAPINormalizer.createNormalizer(openAPI, config.openapiNormalizer()).normalize();
+        }
+        if (config.getUseInlineModelResolver()) {
+            new InlineModelResolver().flatten(openAPI);
+        }
+        config.preprocessOpenAPI(openAPI);
+        config.setOpenAPI(openAPI);
+        return config;
+    }
+
+    /**
+     * @return A new directory for generated files, on tmpfs ({@code /dev/shm}) when available so that disk speed
+     * doesn't dominate, unless set by the {@code benchmark.outputDir} system property
+     */
+    static Path createOutputDirectory() throws IOException {
+        String base = System.getProperty("benchmark.outputDir");
+        if (base == null && new File("/dev/shm").isDirectory()) {
+            base = "/dev/shm";
+        }
+        return base == null
+                ? Files.createTempDirectory("openapi-generator-benchmark")
+                : Files.createTempDirectory(new File(base).toPath(), "openapi-generator-benchmark");
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openapitools.codegen.GenerationMetrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the generations of a batch on a pool of threads, admitting them by estimated heap cost so that large specs
+ * generated together don't exhaust the heap.
+ * <p>
+ * Jobs are started largest first: the next job started is the largest waiting job fitting in the heap budget left by
+ * the running ones, or the largest one when none is running. The heap cost of a job is estimated from the size of its
+ * spec file, and the heap used by the batch is sampled for the report.
+ */
+class BatchScheduler {
+    // the live heap measured after generating specs of 19 KB to 1.2 MB was ~10 MiB plus up to ~55 bytes per byte of
+    // the spec, padded here by 6 MiB and ~16% for the garbage which isn't collected yet
+    static final long BASE_HEAP_BYTES = 16L * 1024 * 1024;
+    static final long HEAP_BYTES_PER_SPEC_BYTE = 64;
+    // estimated size of the specs which aren't local files
+    static final long REMOTE_SPEC_BYTES = 1024 * 1024;
+    // fraction of the free heap jobs may use, the rest being left to the garbage collector
+    static final double HEAP_BUDGET_RATIO = 0.8;
+    private static final long SAMPLING_PERIOD_MILLIS = 50;
+
+    /**
+     * Generation of a job, returning the number of generated files.
+     */
+    @FunctionalInterface
+    interface Generation {
+        int generate(Job job) throws Exception;
+    }
+
+    enum Status {
+        WAITING, RUNNING, SUCCEEDED, FAILED, TIMED_OUT, SKIPPED
+    }
+
+    /**
+     * A generation of the batch, and its measurements.
+     */
+    static final class Job {
+        final String config;
+        final long specBytes;
+        final long estimatedHeapBytes;
+        final GenerationMetrics metrics = new GenerationMetrics(true);
+
+        volatile Status status = Status.WAITING;
+        volatile String generatorName;
+        volatile String outputDir;
+        volatile String error;
+        volatile int files;
+        volatile long startNanos;
+        volatile long endNanos;
+        final AtomicLong peakHeapBytes = new AtomicLong();
+
+        Job(String config, long specBytes) {
+            this.config = config;
+            this.specBytes = specBytes;
+            this.estimatedHeapBytes = BASE_HEAP_BYTES + HEAP_BYTES_PER_SPEC_BYTE * specBytes;
+        }
+    }
+
+    private final int threads;
+    private final long heapBudgetBytes;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Set<Job> running = ConcurrentHashMap.newKeySet();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+
+    private long availableHeapBytes;
+    private int runningCount;
+    private boolean failed;
+    private long startNanos;
+    private long endNanos;
+
+    /**
+     * @param threads         The maximum number of jobs run at the same time
+     * @param heapBudgetBytes The heap available to the jobs, see {@link #defaultHeapBudget()}
+     */
+    BatchScheduler(int threads, long heapBudgetBytes) {
+        this.threads = Math.max(threads, 1);
+        this.heapBudgetBytes = heapBudgetBytes;
+    }
+
+    /**
+     * @return The heap which isn't used yet, minus a margin for the garbage collector
+     */
+    static long defaultHeapBudget() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return (long) ((runtime.maxMemory() - used) * HEAP_BUDGET_RATIO);
+    }
+
+    /**
+     * @return The size of a local spec file, or an estimate for remote specs
+     */
+    static long specBytes(String inputSpec) {
+        if (inputSpec == null) {
+            return REMOTE_SPEC_BYTES;
+        }
+        boolean file = inputSpec.regionMatches(true, 0, "file:", 0, 5);
+        if (!file && inputSpec.matches("(?i)^[a-z][a-z0-9+.-]+://.*")) {
+            return REMOTE_SPEC_BYTES;
+        }
+        try {
+            Path path = file ? Paths.get(URI.create(inputSpec)) : Paths.get(inputSpec);
+            return Files.isRegularFile(path) ? Files.size(path) : REMOTE_SPEC_BYTES;
+        } catch (IOException | RuntimeException e) {
+            return REMOTE_SPEC_BYTES;
+        }
+    }
+
+    /**
+     * Runs jobs until they all completed, one failed (with fail fast), or the timeout expired.
+     *
+     * @param jobs       The jobs
+     * @param generation The generation run for each job
+     * @param timeout    The maximum duration of the batch, null for none
+     * @param failFast   true to start no more jobs once one failed
+     * @return true if all the jobs succeeded
+     * @throws InterruptedException If interrupted while waiting for the jobs.
+     */
+    boolean run(List<Job> jobs, Generation generation, Duration timeout, boolean failFast) throws InterruptedException {
+        startNanos = System.nanoTime();
+        long deadline = timeout == null ? Long.MAX_VALUE : startNanos + timeout.toNanos();
+
+        List<Job> sorted = new ArrayList<>(jobs);
+        sorted.sort(Comparator.comparingLong((Job job) -> job.estimatedHeapBytes).reversed());
+        Deque<Job> waiting = new ArrayDeque<>(sorted);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, daemonThreads("batch"));
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(daemonThreads("batch-heap-sampler"));
+        sampler.scheduleAtFixedRate(this::sampleHeap, 0, SAMPLING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+
+        boolean timedOut = false;
+        lock.lock();
+        try {
+            availableHeapBytes = heapBudgetBytes;
+            while (!waiting.isEmpty() && !(failFast && failed)) {
+                Job next = runningCount < threads ? admit(waiting) : null;
+                if (next == null) {
+                    if (!await(deadline)) {
+                        timedOut = true;
+                        break;
+                    }
+                    continue;
+                }
+                start(next, generation, executor);
+            }
+            while (runningCount > 0 && !timedOut) {
+                if (!await(deadline)) {
+                    timedOut = true;
+                }
+            }
+            waiting.forEach(job -> job.status = Status.SKIPPED);
+            for (Job job : running) {
+                job.status = Status.TIMED_OUT;
+                job.endNanos = System.nanoTime();
+            }
+        } finally {
+            lock.unlock();
+            endNanos = System.nanoTime();
+            if (timedOut) {
+                executor.shutdownNow();
+            } else {
+                executor.shutdown();
+            }
+            sampler.shutdownNow();
+            sampleHeap();
+        }
+        return jobs.stream().allMatch(job -> job.status == Status.SUCCEEDED);
+    }
+
+    // the largest waiting job fitting in the available heap, or the largest one if none is running
+    private Job admit(Deque<Job> waiting) {
+        if (runningCount == 0) {
+            return waiting.poll();
+        }
+        for (Iterator<Job> it = waiting.iterator(); it.hasNext(); ) {
+            Job job = it.next();
+            if (job.estimatedHeapBytes <= availableHeapBytes) {
+                it.remove();
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private boolean await(long deadline) throws InterruptedException {
+        if (deadline == Long.MAX_VALUE) {
+            changed.await();
+            return true;
+        }
+        long remaining = deadline - System.nanoTime();
+        return remaining > 0 && (changed.awaitNanos(remaining) > 0 || System.nanoTime() < deadline);
+    }
+
+    private void start(Job job, Generation generation, ExecutorService executor) {
+        long cost = Math.min(job.estimatedHeapBytes, heapBudgetBytes);
+        availableHeapBytes -= cost;
+        runningCount++;
+        job.status = Status.RUNNING;
+        executor.execute(() -> {
+            job.startNanos = System.nanoTime();
+            running.add(job);
+            sampleHeap();
+            Status status;
+            try {
+                job.files = generation.generate(job);
+                status = Status.SUCCEEDED;
+            } catch (Throwable e) {
+                job.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+                status = Status.FAILED;
+            }
+            sampleHeap();
+            running.remove(job);
+            lock.lock();
+            try {
+                if (job.status == Status.RUNNING) {
+                    job.status = status;
+                    job.endNanos = System.nanoTime();
+                }
+                failed |= status == Status.FAILED;
+                availableHeapBytes += cost;
+                runningCount--;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void sampleHeap() {
+        long used = memory.getHeapMemoryUsage().getUsed();
+        peakHeapBytes.accumulateAndGet(used, Math::max);
+        for (Job job : running) {
+            job.peakHeapBytes.accumulateAndGet(used, Math::max);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @param jobs The jobs run by {@link #run}
+     * @return The report of the batch, as a JSON document
+     */
+    String report(List<Job> jobs) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("threads", threads);
+        document.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        document.put("heapBudgetBytes", heapBudgetBytes);
+        document.put("peakHeapBytes", peakHeapBytes.get());
+        document.put("wallTimeMillis", TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos));
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        for (Status status : Status.values()) {
+            long count = jobs.stream().filter(job -> job.status == status).count();
+            if (count > 0) {
+                statuses.put(status.name().toLowerCase(Locale.ROOT), count);
+            }
+        }
+        document.put("jobs", statuses);
+
+        List<Map<String, Object>> details = new ArrayList<>();
+        for (Job job : jobs) {
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("config", job.config);
+            detail.put("generatorName", job.generatorName);
+            detail.put("outputDir", job.outputDir);
+            detail.put("status", job.status.name().toLowerCase(Locale.ROOT));
+            if (job.error != null) {
+                detail.put("error", job.error);
+            }
+            detail.put("specBytes", job.specBytes);
+            detail.put("estimatedHeapBytes", job.estimatedHeapBytes);
+            if (job.startNanos > 0) {
+                detail.put("queuedMillis", TimeUnit.NANOSECONDS.toMillis(job.startNanos - startNanos));
+                detail.put("wallTimeMillis", TimeUnit.NANOSECONDS.toMillis((job.endNanos > 0 ? job.endNanos : endNanos) - job.startNanos));
+                detail.put("peakHeapBytes", job.peakHeapBytes.get());
+                detail.put("files", job.files);
+                Map<String, Object> phases = new LinkedHashMap<>();
+                job.metrics.getPhases().forEach((phase, stat) -> {
+                    Map<String, Long> measurements = new LinkedHashMap<>();
+                    measurements.put("wallTimeMillis", TimeUnit.NANOSECONDS.toMillis(stat.getWallTimeNanos()));
+                    if (job.metrics.isTrackAllocations()) {
+                        measurements.put("allocatedBytes", stat.getAllocatedBytes());
+                    }
+                    phases.put(phase, measurements);
+                });
+                detail.put("phases", phases);
+            }
+            details.add(detail);
+        }
+        document.put("details", details);
+        try {
+            return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize the batch report", e);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.ContextInitializer;
+import ch.qos.logback.core.joran.spi.JoranException;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.airlift.airline.ParseException;
+import org.openapitools.codegen.OpenAPIGenerator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a warm generator running, so that the generate and batch commands run in the same working directory don't pay
+ * the startup of the JVM, the loading of the generators and templates, and the warm-up of the JIT on each run.
+ * <p>
+ * The daemon listens on a loopback port, advertised with a token in a state file only readable by the user (see
+ * {@link DaemonClient}). Requests are run one at a time, each on a new thread with its own {@link GlobalSettings}, and
+ * with the standard output and error of the process redirected to the client. The logging configuration is reloaded
+ * after each request, as the commands may change it. The requests of clients whose post-processing environment variables
+ * differ from the ones of the daemon are declined, the generators reading them from the environment of the process.
+ */
+@SuppressWarnings({"java:S106"})
+@Command(name = "daemon", description = "Keep a warm generator running, to which the generate and batch commands run in the same working directory are delegated.")
+public class Daemon extends OpenApiGeneratorCommand {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Daemon.class);
+    private static final int DEFAULT_IDLE_TIMEOUT_MINUTES = 30;
+    // read timeout of the requests, which are sent at once
+    private static final int REQUEST_TIMEOUT_MILLIS = 10_000;
+
+    private static volatile boolean serving;
+
+    @Option(name = {"--port"}, title = "port", description = "the loopback port to listen on, a free port by default.")
+    private Integer port;
+
+    @Option(name = {"--idle-timeout"}, title = "idle timeout",
+            description = "stop after this number of minutes without request (default " + DEFAULT_IDLE_TIMEOUT_MINUTES + ").")
+    private Integer idleTimeout;
+
+    @Option(name = {"--stop"}, title = "stop", description = "stop the daemon running in the working directory.")
+    private Boolean stop;
+
+    private int requests;
+
+    /**
+     * @return true if the current process is a daemon serving requests
+     */
+    static boolean isServing() {
+        return serving;
+    }
+
+    @Override
+    public boolean isDelegable() {
+        // stopping is the only command the daemon runs on itself
+        return Boolean.TRUE.equals(stop);
+    }
+
+    @Override
+    void execute() {
+        Path workingDirectory = Paths.get(System.getProperty("user.dir")).toAbsolutePath().normalize();
+        if (Boolean.TRUE.equals(stop)) {
+            System.out.println("No daemon is running in " + workingDirectory);
+            return;
+        }
+        try {
+            serve(DaemonClient.defaultStateDirectory(), workingDirectory);
+        } catch (IOException e) {
+            System.err.println("[error] Unable to run the daemon: " + e.getMessage());
+            exit(1);
+        }
+    }
+
+    /**
+     * Serves requests until stopped, or idle for the idle timeout.
+     *
+     * @param stateDirectory   The directory of the state file advertising the daemon
+     * @param workingDirectory The working directory of the clients
+     * @throws IOException If the daemon can't listen or write its state file.
+     */
+    void serve(Path stateDirectory, Path workingDirectory) throws IOException {
+        Path directory = workingDirectory.toAbsolutePath().normalize();
+        Path stateFile = DaemonClient.stateFile(stateDirectory, directory);
+        if (DaemonClient.isRunning(stateFile)) {
+            throw new IOException("a daemon is already running in " + directory);
+        }
+        int idleMinutes = idleTimeout == null ? DEFAULT_IDLE_TIMEOUT_MINUTES : Math.max(idleTimeout, 1);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        try (ServerSocket server = new ServerSocket(port == null ? 0 : port, 50, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) TimeUnit.MINUTES.toMillis(idleMinutes));
+            writeState(stateFile, server.getLocalPort(), token, directory);
+            Thread cleanup = new Thread(() -> deleteState(stateFile));
+            Runtime.getRuntime().addShutdownHook(cleanup);
+            serving = true;
+            System.out.printf(Locale.ROOT, "Daemon listening on port %d for %s, stopping after %d minutes without request%n",
+                    server.getLocalPort(), directory, idleMinutes);
+            try {
+                boolean running = true;
+                while (running) {
+                    try (Socket socket = server.accept()) {
+                        running = handle(socket, token, directory);
+                    } catch (SocketTimeoutException e) {
+                        System.out.println("Stopping the idle daemon");
+                        running = false;
+                    }
+                }
+            } finally {
+                serving = false;
+                deleteState(stateFile);
+                try {
+                    Runtime.getRuntime().removeShutdownHook(cleanup);
+                } catch (IllegalStateException e) {
+                    // shutting down
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false if the daemon was stopped by the request
+     */
+    private boolean handle(Socket socket, String token, Path directory) {
+        try {
+            socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            if (!DaemonClient.PROTOCOL.equals(in.readUTF())) {
+                decline(out, "unsupported protocol");
+                return true;
+            }
+            if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+                LOGGER.warn("Ignoring a request with an invalid token");
+                return true;
+            }
+            String clientDirectory = in.readUTF();
+            String[] args = new String[in.readInt()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = in.readUTF();
+            }
+            Map<String, String> properties = new LinkedHashMap<>();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                properties.put(in.readUTF(), in.readUTF());
+            }
+            Map<String, String> environment = new TreeMap<>();
+            count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                environment.put(in.readUTF(), in.readUTF());
+            }
+            socket.setSoTimeout(0);
+
+            if (!directory.toString().equals(clientDirectory)) {
+                decline(out, "the daemon runs in " + directory);
+                return true;
+            }
+            if (!environment.equals(DaemonClient.generatorEnvironment(System.getenv()))) {
+                decline(out, "the post-processing environment variables differ from the ones of the daemon");
+                return true;
+            }
+            OpenApiGeneratorCommand command;
+            try {
+                command = OpenAPIGenerator.cli().parse(args);
+            } catch (ParseException e) {
+                decline(out, e.getMessage());
+                return true;
+            }
+            if (command instanceof Daemon) {
+                if (!command.isDelegable()) {
+                    decline(out, "the daemon is already running");
+                    return true;
+                }
+                new Frames(out, DaemonClient.OUT).print("Stopping the daemon running in " + directory + System.lineSeparator());
+                sendExit(out, 0);
+                System.out.println("Stopped by a client");
+                return false;
+            }
+            if (!command.isDelegable()) {
+                decline(out, "the command can't be run by the daemon");
+                return true;
+            }
+            sendExit(out, run(command, properties, out));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to serve the request: {}", e.getMessage());
+        }
+        return true;
+    }
+
+    private int run(OpenApiGeneratorCommand command, Map<String, String> properties, DataOutputStream out) {
+        AtomicInteger status = new AtomicInteger();
+        Thread thread = new Thread(() -> {
+            // properties are inherited by threads, so isolate the request from the settings of the previous ones
+            GlobalSettings.reset();
+            properties.forEach(GlobalSettings::setProperty);
+            try {
+                command.run();
+            } catch (RequestExit e) {
+                status.set(e.status);
+            } catch (Throwable e) {
+                e.printStackTrace();
+                status.set(1);
+            } finally {
+                GlobalSettings.reset();
+            }
+        }, "daemon-request-" + ++requests);
+
+        PrintStream stdout = System.out;
+        PrintStream stderr = System.err;
+        PrintStream requestOut = new PrintStream(new Frames(out, DaemonClient.OUT), true, StandardCharsets.UTF_8);
+        PrintStream requestErr = new PrintStream(new Frames(out, DaemonClient.ERR), true, StandardCharsets.UTF_8);
+        System.setOut(requestOut);
+        System.setErr(requestErr);
+        try {
+            thread.start();
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status.set(1);
+        } finally {
+            requestOut.flush();
+            requestErr.flush();
+            System.setOut(stdout);
+            System.setErr(stderr);
+            resetLogging();
+        }
+        return status.get();
+    }
+
+    private static void resetLogging() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        try {
+            new ContextInitializer(context).autoConfig();
+        } catch (JoranException e) {
+            System.err.println("[error] Unable to reload the logging configuration: " + e.getMessage());
+        }
+    }
+
+    private static void decline(DataOutputStream out, String reason) throws IOException {
+        synchronized (out) {
+            out.writeByte(DaemonClient.DECLINED);
+            out.writeUTF(reason);
+            out.flush();
+        }
+    }
+
+    private static void sendExit(DataOutputStream out, int status) throws IOException {
+        synchronized (out) {
+            out.writeByte(DaemonClient.EXIT);
+            out.writeInt(status);
+            out.flush();
+        }
+    }
+
+    private static void writeState(Path stateFile, int port, String token, Path directory) throws IOException {
+        Properties state = new Properties();
+        state.setProperty(DaemonClient.PORT, String.valueOf(port));
+        state.setProperty(DaemonClient.TOKEN, token);
+        state.setProperty(DaemonClient.VERSION, new BuildInfo().getVersion());
+        state.setProperty(DaemonClient.DIRECTORY, directory.toString());
+        state.setProperty(DaemonClient.PID, String.valueOf(ProcessHandle.current().pid()));
+
+        Path parent = stateFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, stateFile.getFileName().toString(), ".tmp");
+        try {
+            if (Files.getFileAttributeView(temp, PosixFileAttributeView.class) != null) {
+                // the token gives access to the daemon
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }
+            try (OutputStream stream = Files.newOutputStream(temp)) {
+                state.store(stream, "openapi-generator daemon");
+            }
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void deleteState(Path stateFile) {
+        try {
+            Files.deleteIfExists(stateFile);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete the daemon state file {}", stateFile);
+        }
+    }
+
+    /**
+     * Thrown by {@link OpenApiGeneratorCommand#exit(int)} to end a request instead of the process.
+     */
+    static class RequestExit extends RuntimeException {
+        private final int status;
+
+        RequestExit(int status) {
+            super("exit " + status, null, false, false);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Output of a request, sent to the client as frames of a channel (standard output or error).
+     */
+    private static class Frames extends OutputStream {
+        private final DataOutputStream out;
+        private final int channel;
+
+        Frames(DataOutputStream out, int channel) {
+            this.out = out;
+            this.channel = channel;
+        }
+
+        void print(String text) throws IOException {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (out) {
+                out.writeByte(channel);
+                out.writeInt(len);
+                out.write(b, off, len);
+                out.flush();
+            }
+        }
+    }
+}
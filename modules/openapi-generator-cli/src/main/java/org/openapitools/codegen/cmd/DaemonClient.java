@@ -0,0 +1,263 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Runs commands in the {@link Daemon} started in the working directory, if any.
+ * <p>
+ * The daemon is found through a state file named after the working directory, holding the loopback port it listens
+ * on and the token authenticating its clients. The request holds the arguments of the command, the system properties
+ * set on the command line and the environment variables read by the generators (the post-processing commands, e.g.
+ * {@code JAVA_POST_PROCESS_FILE}); the response is the output of the command followed by its exit status.
+ */
+@SuppressWarnings({"java:S106"})
+public class DaemonClient {
+    static final String PROTOCOL = "openapi-generator-daemon/2";
+
+    // response frames
+    static final int EXIT = 0;
+    static final int OUT = 1;
+    static final int ERR = 2;
+    static final int DECLINED = 3;
+
+    static final String PORT = "port";
+    static final String TOKEN = "token";
+    static final String VERSION = "version";
+    static final String DIRECTORY = "directory";
+    static final String PID = "pid";
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+    private static final String POST_PROCESS_FILE_SUFFIX = "_POST_PROCESS_FILE";
+
+    private final Path stateFile;
+    private final Path workingDirectory;
+    private final Map<String, String> environment;
+
+    /**
+     * @param stateDirectory   The directory of the daemon state files, see {@link #defaultStateDirectory()}
+     * @param workingDirectory The working directory of the commands
+     */
+    public DaemonClient(Path stateDirectory, Path workingDirectory) {
+        this(stateDirectory, workingDirectory, System.getenv());
+    }
+
+    DaemonClient(Path stateDirectory, Path workingDirectory, Map<String, String> environment) {
+        this.workingDirectory = workingDirectory.toAbsolutePath().normalize();
+        this.stateFile = stateFile(stateDirectory, this.workingDirectory);
+        this.environment = generatorEnvironment(environment);
+    }
+
+    /**
+     * @return The directory of the daemon state files, in the home directory of the user
+     */
+    public static Path defaultStateDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".openapi-generator", "daemons");
+    }
+
+    static Path stateFile(Path stateDirectory, Path workingDirectory) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(workingDirectory.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                name.append(String.format(Locale.ROOT, "%02x", digest[i]));
+            }
+            return stateDirectory.resolve(name.append(".properties").toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Properties readState(Path stateFile) {
+        if (!Files.isRegularFile(stateFile)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(stateFile)) {
+            Properties state = new Properties();
+            state.load(in);
+            return state.getProperty(PORT) == null || state.getProperty(TOKEN) == null ? null : state;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if a daemon listens on the port of a state file
+     */
+    static boolean isRunning(Path stateFile) {
+        Properties state = readState(stateFile);
+        if (state == null) {
+            return false;
+        }
+        try (Socket socket = connect(state)) {
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Socket connect(Properties state) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(state.getProperty(PORT))),
+                    CONNECT_TIMEOUT_MILLIS);
+            return socket;
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a command in the daemon of the working directory.
+     *
+     * @param args The arguments of the command
+     * @param out  The stream the standard output of the command is copied to
+     * @param err  The stream the standard error of the command is copied to
+     * @return The exit status of the command, empty if no daemon ran it (e.g. none is running, or it is of another
+     * version), in which case the command should be run by the current process
+     */
+    public OptionalInt run(String[] args, PrintStream out, PrintStream err) {
+        Properties state = readState(stateFile);
+        if (state == null || !new BuildInfo().getVersion().equals(state.getProperty(VERSION))) {
+            return OptionalInt.empty();
+        }
+
+        boolean received = false;
+        try (Socket socket = connect(state)) {
+            DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeUTF(PROTOCOL);
+            request.writeUTF(state.getProperty(TOKEN));
+            request.writeUTF(workingDirectory.toString());
+            request.writeInt(args.length);
+            for (String arg : args) {
+                request.writeUTF(arg);
+            }
+            Map<String, String> properties = commandLineProperties();
+            request.writeInt(properties.size());
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                request.writeUTF(property.getKey());
+                request.writeUTF(property.getValue());
+            }
+            request.writeInt(environment.size());
+            for (Map.Entry<String, String> variable : environment.entrySet()) {
+                request.writeUTF(variable.getKey());
+                request.writeUTF(variable.getValue());
+            }
+            request.flush();
+
+            DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                int frame = response.readUnsignedByte();
+                switch (frame) {
+                    case OUT:
+                    case ERR:
+                        byte[] bytes = new byte[response.readInt()];
+                        response.readFully(bytes);
+                        PrintStream stream = frame == OUT ? out : err;
+                        stream.write(bytes, 0, bytes.length);
+                        stream.flush();
+                        received = true;
+                        break;
+                    case EXIT:
+                        return OptionalInt.of(response.readInt());
+                    case DECLINED:
+                        response.readUTF();
+                        return OptionalInt.empty();
+                    default:
+                        throw new IOException("Unexpected response from the daemon: " + frame);
+                }
+            }
+        } catch (ConnectException e) {
+            // the daemon was killed without removing its state file
+            try {
+                Files.deleteIfExists(stateFile);
+            } catch (IOException ignored) {
+                // deleted by the next daemon
+            }
+            return OptionalInt.empty();
+        } catch (IOException | RuntimeException e) {
+            if (!received) {
+                return OptionalInt.empty();
+            }
+            String reason = e instanceof EOFException ? "the connection was closed" : e.getMessage();
+            err.println("[error] The daemon failed to run the command: " + reason);
+            return OptionalInt.of(1);
+        }
+    }
+
+    /**
+     * The generators read the post-processing commands from the environment of the process (e.g.
+     * {@code JAVA_POST_PROCESS_FILE}), so the daemon only runs the commands of clients with the same ones.
+     *
+     * @param environment The environment of a process
+     * @return the variables of the environment read by the generators, sorted by name
+     */
+    static Map<String, String> generatorEnvironment(Map<String, String> environment) {
+        Map<String, String> variables = new TreeMap<>();
+        environment.forEach((name, value) -> {
+            if (name.endsWith(POST_PROCESS_FILE_SUFFIX)) {
+                variables.put(name, value);
+            }
+        });
+        return variables;
+    }
+
+    /**
+     * @return the system properties set on the command line (e.g. -DdebugModels=true), by name
+     */
+    private static Map<String, String> commandLineProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-D") && argument.length() > 2) {
+                int separator = argument.indexOf('=');
+                String name = separator < 0 ? argument.substring(2) : argument.substring(2, separator);
+                String value = System.getProperty(name);
+                if (value != null) {
+                    properties.put(name, value);
+                }
+            }
+        }
+        return properties;
+    }
+}
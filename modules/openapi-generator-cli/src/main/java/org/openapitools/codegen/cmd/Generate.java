@@ -29,6 +29,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
@@ -331,6 +335,31 @@ public class Generate extends OpenApiGeneratorCommand {
             description = "Only write output files that have changed.")
     private Boolean minimalUpdate;
 
+    @Option(name = {"--metrics"},
+            title = "print generation metrics",
+            description = "print the time spent (and memory allocated) in each generation phase, and cache hit counts, once generation completes.")
+    private Boolean printMetrics;
+
+    @Option(name = {"--metrics-file"},
+            title = "generation metrics file",
+            description = "write the time spent (and memory allocated) in each generation phase and per template, and cache hit counts, to the specified file, as JSON.")
+    private String metricsFile;
+
+    @Option(name = {"--output-archive"},
+            title = "output archive",
+            description = "write the generated files to the specified zip archive (jar if its name ends with .jar) as they are rendered, instead of the output directory. Entries are named after the paths relative to the output directory.")
+    private String outputArchive;
+
+    @Option(name = {"--no-daemon"},
+            title = "no daemon",
+            description = "run in this process, even if a daemon is running in the working directory (see the daemon command).")
+    private Boolean noDaemon;
+
+    @Override
+    public boolean isDelegable() {
+        return !Boolean.TRUE.equals(noDaemon) && !globalOptions.version && !globalOptions.help;
+    }
+
     @Override
     public void execute() {
         if (StringUtils.isNotBlank(inputSpecRootDirectory)) {
@@ -357,7 +386,7 @@ public class Generate extends OpenApiGeneratorCommand {
             } else if (StringUtils.isEmpty(spec)) {
                 // if user doesn't pass configFile and does not pass spec, we can fail immediately because one of these two is required to run.
                 System.err.println("[error] Required option '-i' is missing");
-                System.exit(1);
+                exit(1);
             }
 
             // if a config file wasn't specified, or we were unable to read it
@@ -384,7 +413,7 @@ public class Generate extends OpenApiGeneratorCommand {
             if (!spec.matches("^http(s)?://.*") && !new File(spec).exists()) {
                 System.err.println("[error] The spec file is not found: " + spec);
                 System.err.println("[error] Check the path of the OpenAPI spec and try again.");
-                System.exit(1);
+                exit(1);
             }
             configurator.setInputSpec(spec);
         }
@@ -523,6 +552,12 @@ public class Generate extends OpenApiGeneratorCommand {
         applyReservedWordsMappingsKvpList(reservedWordsMappings, configurator);
         applyServerVariablesKvpList(serverVariableOverrides, configurator);
 
+        GenerationMetrics metrics = null;
+        if (Boolean.TRUE.equals(printMetrics) || isNotEmpty(metricsFile)) {
+            metrics = new GenerationMetrics(true);
+            configurator.setGenerationMetrics(metrics);
+        }
+
         try {
             final ClientOptInput clientOptInput = configurator.toClientOptInput();
 
@@ -531,12 +566,39 @@ public class Generate extends OpenApiGeneratorCommand {
                 generator = new DefaultGenerator(isDryRun);
             }
 
-            generator.opts(clientOptInput);
-            generator.generate();
+            if (isNotEmpty(outputArchive) && !Boolean.TRUE.equals(isDryRun)) {
+                try (ArchiveOutputSink sink = ArchiveOutputSink.create(Paths.get(outputArchive))) {
+                    generator.opts(clientOptInput.outputSink(sink));
+                    generator.generate();
+                } catch (IOException e) {
+                    System.err.println("[error] Unable to write the output archive " + outputArchive + ": " + e.getMessage());
+                    exit(1);
+                }
+            } else {
+                generator.opts(clientOptInput);
+                generator.generate();
+            }
+
+            if (metrics != null) {
+                reportMetrics(metrics);
+            }
         } catch (GeneratorNotFoundException e) {
             System.err.println(e.getMessage());
             System.err.println("[error] Check the spelling of the generator's name and try again.");
-            System.exit(1);
+            exit(1);
+        }
+    }
+
+    private void reportMetrics(GenerationMetrics metrics) {
+        if (Boolean.TRUE.equals(printMetrics)) {
+            System.out.println(metrics);
+        }
+        if (isNotEmpty(metricsFile)) {
+            try {
+                Files.write(Paths.get(metricsFile), metrics.toJson().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("[error] Unable to write the generation metrics to " + metricsFile + ": " + e.getMessage());
+            }
         }
     }
 }
@@ -37,6 +37,7 @@ import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.DynamicSettings;
 import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.config.ParsedSpecCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,20 +47,17 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.Map;
 import java.util.stream.Stream;
 
 @SuppressWarnings({"unused", "MismatchedQueryAndUpdateOfCollection", "java:S106"})
 @Command(name = "batch", description = "Generate code in batch via external configs.")
 public class GenerateBatch extends OpenApiGeneratorCommand {
-    private static AtomicInteger failures = new AtomicInteger(0);
-    private static AtomicInteger successes = new AtomicInteger(0);
     private final Logger LOGGER = LoggerFactory.getLogger(GenerateBatch.class);
 
     @Option(name = {"-v", "--verbose"}, description = "verbose mode")
@@ -77,15 +75,28 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
     @Option(name = {"--clean"}, description = "clean output of previously written files before generation")
     private Boolean clean;
 
-    @Option(name = {"--timeout"}, description = "execution timeout (minutes)")
+    @Option(name = {"--timeout"}, description = "execution timeout (minutes), generators still running then fail and the waiting ones are skipped (default: none)")
     private Integer timeout;
 
+    @Option(name = {"--report"}, title = "report file", description = "write a JSON report of the batch to this file: timing, heap usage and generated files of each generator")
+    private String report;
+
     @Option(name = {"--includes-base-dir"}, description = "base directory used for includes")
     private String includes;
 
     @Option(name = {"--root-dir"}, description = "root directory used output/includes (includes can be overridden)")
     private String root;
 
+    @Option(name = {"--no-daemon"},
+            title = "no daemon",
+            description = "run in this process, even if a daemon is running in the working directory (see the daemon command).")
+    private Boolean noDaemon;
+
+    @Override
+    public boolean isDelegable() {
+        return !Boolean.TRUE.equals(noDaemon) && !globalOptions.version && !globalOptions.help;
+    }
+
     /**
      * When an object implementing interface <code>Runnable</code> is used
      * to create a thread, starting the thread causes the object's
@@ -101,12 +112,12 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
     public void execute() {
         if (configs.size() < 1) {
             LOGGER.error("No configuration file inputs specified");
-            System.exit(1);
+            exit(1);
         }
 
         int cores = Runtime.getRuntime().availableProcessors();
         int numThreads = 2 * cores;
-        if (null != threads && (threads > 0 && threads < Thread.activeCount())) {
+        if (null != threads && threads > 0) {
             numThreads = threads;
         }
 
@@ -132,13 +143,22 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
             }
         }
 
+        BatchScheduler scheduler = new BatchScheduler(numThreads, BatchScheduler.defaultHeapBudget());
         LOGGER.info(String.format(Locale.ROOT, "Batch generation using up to %d threads.\nIncludes: %s\nRoot: %s", numThreads, includesDir.getAbsolutePath(), rootDir.toAbsolutePath().toString()));
 
         // Create a module which loads our config files, but supports a special "!include" key which can point to an existing config file.
         // This allows us to create a sort of meta-config which holds configs which are otherwise required at CLI time (via generate task).
         // That is, this allows us to create a wrapper config for generatorName, inputSpec, outputDir, etc.
         SimpleModule module = getCustomDeserializationModel(includesDir);
-        List<CodegenConfigurator> configurators = configs.stream().map(config -> CodegenConfigurator.fromFile(config, module)).collect(Collectors.toList());
+        // generators sharing a spec parse it once, each of them generating from its own copy
+        ParsedSpecCache parsedSpecCache = new ParsedSpecCache();
+        Map<BatchScheduler.Job, CodegenConfigurator> configurators = new LinkedHashMap<>();
+        for (String config : configs) {
+            CodegenConfigurator configurator = CodegenConfigurator.fromFile(config, module);
+            configurator.setParsedSpecCache(parsedSpecCache);
+            configurators.put(new BatchScheduler.Job(config, BatchScheduler.specBytes(configurator.getInputSpec())), configurator);
+        }
+        List<BatchScheduler.Job> jobs = new ArrayList<>(configurators.keySet());
 
         // it doesn't make sense to interleave INFO level logs, so limit these to only ERROR.
         LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -146,30 +166,35 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
                 .map(lc::getLogger)
                 .forEach(logger -> logger.setLevel(Level.ERROR));
 
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
-
-        // Execute each configurator on a separate pooled thread.
-        configurators.forEach(configurator -> {
-            GenerationRunner runner = new GenerationRunner(configurator, rootDir, Boolean.TRUE.equals(failFast), Boolean.TRUE.equals(clean));
-            executor.execute(runner);
-        });
-
-        executor.shutdown();
-
         try {
-            // Allow the batch job to terminate, never running for more than 30 minutes (defaulted to max 10 minutes)
-            if (timeout == null) timeout = 10;
-            int awaitFor = Math.min(Math.max(timeout, 1), 30);
+            boolean succeeded = scheduler.run(jobs, job -> generate(job, configurators.get(job), rootDir),
+                    timeout == null || timeout <= 0 ? null : Duration.ofMinutes(timeout), Boolean.TRUE.equals(failFast));
 
-            executor.awaitTermination(awaitFor, TimeUnit.MINUTES);
+            if (report != null) {
+                Path reportFile = Paths.get(report);
+                if (reportFile.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(reportFile.toAbsolutePath().getParent());
+                }
+                Files.write(reportFile, scheduler.report(jobs).getBytes(StandardCharsets.UTF_8));
+            }
 
-            int failCount = failures.intValue();
-            if (failCount > 0) {
-                System.err.println(String.format(Locale.ROOT, "[FAIL] Completed with %d failures, %d successes", failCount, successes.intValue()));
-                System.exit(1);
+            long successCount = jobs.stream().filter(job -> job.status == BatchScheduler.Status.SUCCEEDED).count();
+            if (!succeeded) {
+                long timedOut = jobs.stream().filter(job -> job.status == BatchScheduler.Status.TIMED_OUT).count();
+                long skipped = jobs.stream().filter(job -> job.status == BatchScheduler.Status.SKIPPED).count();
+                long failCount = jobs.size() - successCount - timedOut - skipped;
+                if (timedOut > 0 || skipped > 0) {
+                    System.err.println(String.format(Locale.ROOT, "[FAIL] Completed with %d failures, %d successes, %d timed out, %d skipped", failCount, successCount, timedOut, skipped));
+                } else {
+                    System.err.println(String.format(Locale.ROOT, "[FAIL] Completed with %d failures, %d successes", failCount, successCount));
+                }
+                exit(1);
             } else {
-                System.out.println(String.format(Locale.ROOT, "[SUCCESS] Batch generation finished %d generators successfully.", successes.intValue()));
+                System.out.println(String.format(Locale.ROOT, "[SUCCESS] Batch generation finished %d generators successfully.", successCount));
             }
+        } catch (IOException e) {
+            System.err.println(String.format(Locale.ROOT, "[FAIL] Unable to write the report %s: %s", report, e.getMessage()));
+            exit(1);
         } catch (InterruptedException e) {
             e.printStackTrace();
             // re-interrupt
@@ -177,93 +202,67 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
         }
     }
 
-    private static class GenerationRunner implements Runnable {
-        private final CodegenConfigurator configurator;
-        private final Path rootDir;
-        private final boolean exitOnError;
-        private final boolean clean;
-
-        private GenerationRunner(CodegenConfigurator configurator, Path rootDir, boolean failFast, boolean clean) {
-            this.configurator = configurator;
-            this.rootDir = rootDir;
-            this.exitOnError = failFast;
-            this.clean = clean;
-        }
-
-        /**
-         * When an object implementing interface <code>Runnable</code> is used
-         * to create a thread, starting the thread causes the object's
-         * <code>run</code> method to be called in that separately executing
-         * thread.
-         * <p>
-         * The general contract of the method <code>run</code> is that it may
-         * take any action whatsoever.
-         *
-         * @see Thread#run()
-         */
-        @Override
-        public void run() {
-            String name = null;
-            try {
-                GlobalSettings.reset();
+    private int generate(BatchScheduler.Job job, CodegenConfigurator configurator, Path rootDir) throws Exception {
+        String name = null;
+        try {
+            GlobalSettings.reset();
 
-                ClientOptInput opts = configurator.toClientOptInput();
-                CodegenConfig config = opts.getConfig();
-                name = config.getName();
+            configurator.setGenerationMetrics(job.metrics);
+            ClientOptInput opts = configurator.toClientOptInput();
+            CodegenConfig config = opts.getConfig();
+            name = config.getName();
+            job.generatorName = name;
 
-                Path target = Paths.get(config.getOutputDir());
-                Path updated = rootDir.resolve(target);
-                config.setOutputDir(updated.toString());
+            Path target = Paths.get(config.getOutputDir());
+            Path updated = rootDir.resolve(target);
+            config.setOutputDir(updated.toString());
+            job.outputDir = updated.toString();
 
-                if (this.clean) {
-                    cleanPreviousFiles(name, updated);
-                }
+            if (Boolean.TRUE.equals(clean)) {
+                cleanPreviousFiles(name, updated);
+            }
 
-                System.out.printf(Locale.ROOT, "[%s] Generating %s (outputs to %s)…%n", Thread.currentThread().getName(), name, updated.toString());
+            System.out.printf(Locale.ROOT, "[%s] Generating %s (outputs to %s)…%n", Thread.currentThread().getName(), name, updated.toString());
 
-                DefaultGenerator defaultGenerator = new DefaultGenerator();
-                defaultGenerator.opts(opts);
+            DefaultGenerator defaultGenerator = new DefaultGenerator();
+            defaultGenerator.opts(opts);
 
-                defaultGenerator.generate();
+            List<File> files = defaultGenerator.generate();
 
-                System.out.printf(Locale.ROOT, "[%s] Finished generating %s…%n", Thread.currentThread().getName(), name);
-                successes.incrementAndGet();
-            } catch (Throwable e) {
-                failures.incrementAndGet();
-                String failedOn = name;
-                if (StringUtils.isEmpty(failedOn)) {
-                    failedOn = "unspecified";
-                }
-                System.err.printf(Locale.ROOT, "[%s] Generation failed for %s: (%s) %s%n", Thread.currentThread().getName(), failedOn, e.getClass().getSimpleName(), e.getMessage());
-                e.printStackTrace(System.err);
-                if (exitOnError) {
-                    System.exit(1);
-                }
-            } finally {
-                GlobalSettings.reset();
+            System.out.printf(Locale.ROOT, "[%s] Finished generating %s…%n", Thread.currentThread().getName(), name);
+            return files.size();
+        } catch (Throwable e) {
+            String failedOn = name;
+            if (StringUtils.isEmpty(failedOn)) {
+                failedOn = "unspecified";
             }
+            System.err.printf(Locale.ROOT, "[%s] Generation failed for %s: (%s) %s%n", Thread.currentThread().getName(), failedOn, e.getClass().getSimpleName(), e.getMessage());
+            e.printStackTrace(System.err);
+            throw e;
+        } finally {
+            GlobalSettings.reset();
         }
+    }
 
-        private void cleanPreviousFiles(final String name, Path outDir) throws IOException {
-            System.out.printf(Locale.ROOT, "[%s] Cleaning previous contents for %s in %s…%n", Thread.currentThread().getName(), name, outDir.toString());
-            Path filesMeta = Paths.get(outDir.toAbsolutePath().toString(), ".openapi-generator", "FILES");
-            if (filesMeta.toFile().exists()) {
-                FileUtils.readLines(filesMeta.toFile(), StandardCharsets.UTF_8).forEach(relativePath -> {
-                    if (!Strings.CS.startsWith(relativePath, ".")) {
-                        Path file = outDir.resolve(relativePath).toAbsolutePath();
-                        // hack: disallow directory traversal outside of output directory. we don't want to delete wrong files.
-                        if (file.toString().startsWith(outDir.toAbsolutePath().toString())) {
-                            try {
-                                Files.delete(file);
-                            } catch (Throwable e) {
-                                System.out.printf(Locale.ROOT, "[%s] Generator %s failed to clean file %s…%n", Thread.currentThread().getName(), name, file);
-                            }
+    private static void cleanPreviousFiles(final String name, Path outDir) throws IOException {
+        System.out.printf(Locale.ROOT, "[%s] Cleaning previous contents for %s in %s…%n", Thread.currentThread().getName(), name, outDir.toString());
+        Path filesMeta = Paths.get(outDir.toAbsolutePath().toString(), ".openapi-generator", "FILES");
+        if (filesMeta.toFile().exists()) {
+            FileUtils.readLines(filesMeta.toFile(), StandardCharsets.UTF_8).forEach(relativePath -> {
+                if (!Strings.CS.startsWith(relativePath, ".")) {
+                    Path file = outDir.resolve(relativePath).toAbsolutePath();
+                    // hack: disallow directory traversal outside of output directory. we don't want to delete wrong files.
+                    if (file.toString().startsWith(outDir.toAbsolutePath().toString())) {
+                        try {
+                            Files.delete(file);
+                        } catch (Throwable e) {
+                            System.out.printf(Locale.ROOT, "[%s] Generator %s failed to clean file %s…%n", Thread.currentThread().getName(), name, file);
                         }
-                    } else {
-                        System.out.printf(Locale.ROOT, "[%s] Generator %s skip cleaning special filename %s…%n", Thread.currentThread().getName(), name, relativePath);
                     }
-                });
-            }
+                } else {
+                    System.out.printf(Locale.ROOT, "[%s] Generator %s skip cleaning special filename %s…%n", Thread.currentThread().getName(), name, relativePath);
+                }
+            });
         }
     }
 
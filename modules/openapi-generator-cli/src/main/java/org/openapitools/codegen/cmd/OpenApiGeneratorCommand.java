@@ -32,8 +32,28 @@ public abstract class OpenApiGeneratorCommand implements Runnable {
         execute();
     }
 
+    /**
+     * @return true if the command may be run by the {@link Daemon} of the working directory instead of this process
+     */
+    public boolean isDelegable() {
+        return false;
+    }
+
     /**
      * Logic to be executed by implementing commands
      */
     abstract void execute();
+
+    /**
+     * Terminates the command with an error status: exits the process, or only ends the request when the command is
+     * run by a {@link Daemon}.
+     *
+     * @param status The exit status
+     */
+    static void exit(int status) {
+        if (Daemon.isServing()) {
+            throw new Daemon.RequestExit(status);
+        }
+        System.exit(status);
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openapitools.codegen.GenerationMetrics;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.*;
+
+public class BatchSchedulerTest {
+    private static final long MIB = 1024 * 1024;
+
+    @Test
+    public void startsLargestJobsFirstWithinTheHeapBudget() throws Exception {
+        List<BatchScheduler.Job> jobs = Arrays.asList(job("small", MIB), job("large", 4 * MIB), job("medium", 2 * MIB),
+                job("small-2", MIB), job("large-2", 4 * MIB));
+        long budget = jobs.get(1).estimatedHeapBytes + jobs.get(2).estimatedHeapBytes;
+        BatchScheduler scheduler = new BatchScheduler(4, budget);
+
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong maxReserved = new AtomicLong();
+        boolean succeeded = scheduler.run(jobs, job -> {
+            started.add(job.config);
+            maxReserved.accumulateAndGet(reserved.addAndGet(job.estimatedHeapBytes), Math::max);
+            // the first large job completes while the medium one runs
+            Thread.sleep(job.config.startsWith("large") ? 20 : 200);
+            reserved.addAndGet(-job.estimatedHeapBytes);
+            return 1;
+        }, null, false);
+
+        assertTrue(succeeded);
+        // the second large job doesn't fit next to the first one, the medium one does
+        assertEquals(new HashSet<>(started.subList(0, 2)), new HashSet<>(Arrays.asList("large", "medium")));
+        assertTrue(started.indexOf("large-2") < started.indexOf("small"));
+        assertTrue(started.indexOf("large-2") < started.indexOf("small-2"));
+        assertTrue(maxReserved.get() <= budget, "jobs over the heap budget ran together");
+        assertTrue(jobs.stream().allMatch(job -> job.status == BatchScheduler.Status.SUCCEEDED && job.files == 1));
+    }
+
+    @Test
+    public void runsJobsLargerThanTheBudgetAlone() throws Exception {
+        List<BatchScheduler.Job> jobs = Arrays.asList(job("huge", 100 * MIB), job("small", MIB));
+        BatchScheduler scheduler = new BatchScheduler(2, jobs.get(1).estimatedHeapBytes);
+
+        AtomicLong running = new AtomicLong();
+        AtomicLong maxRunning = new AtomicLong();
+        assertTrue(scheduler.run(jobs, job -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return 0;
+        }, null, false));
+        assertEquals(maxRunning.get(), 1);
+    }
+
+    @Test
+    public void skipsWaitingJobsOnFailureWithFailFast() throws Exception {
+        List<BatchScheduler.Job> jobs = Arrays.asList(job("failing", 2 * MIB), job("waiting", MIB));
+        BatchScheduler scheduler = new BatchScheduler(1, Long.MAX_VALUE);
+
+        assertFalse(scheduler.run(jobs, job -> {
+            throw new IllegalStateException("broken spec");
+        }, null, true));
+        assertEquals(jobs.get(0).status, BatchScheduler.Status.FAILED);
+        assertEquals(jobs.get(0).error, "IllegalStateException: broken spec");
+        assertEquals(jobs.get(1).status, BatchScheduler.Status.SKIPPED);
+    }
+
+    @Test
+    public void runsTheOtherJobsOnFailureWithoutFailFast() throws Exception {
+        List<BatchScheduler.Job> jobs = Arrays.asList(job("failing", 2 * MIB), job("other", MIB));
+        BatchScheduler scheduler = new BatchScheduler(1, Long.MAX_VALUE);
+
+        assertFalse(scheduler.run(jobs, job -> {
+            if (job.config.equals("failing")) {
+                throw new IllegalStateException("broken spec");
+            }
+            return 3;
+        }, null, false));
+        assertEquals(jobs.get(0).status, BatchScheduler.Status.FAILED);
+        assertEquals(jobs.get(1).status, BatchScheduler.Status.SUCCEEDED);
+    }
+
+    @Test
+    public void stopsWaitingOnTimeout() throws Exception {
+        List<BatchScheduler.Job> jobs = Arrays.asList(job("blocked", 2 * MIB), job("waiting", MIB));
+        BatchScheduler scheduler = new BatchScheduler(1, Long.MAX_VALUE);
+        CountDownLatch never = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        assertFalse(scheduler.run(jobs, job -> {
+            never.await();
+            return 0;
+        }, Duration.ofMillis(200), false));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 10_000);
+        assertEquals(jobs.get(0).status, BatchScheduler.Status.TIMED_OUT);
+        assertEquals(jobs.get(1).status, BatchScheduler.Status.SKIPPED);
+    }
+
+    @Test
+    public void reportsEachJob() throws Exception {
+        List<BatchScheduler.Job> jobs = Arrays.asList(job("first.yaml", MIB), job("second.yaml", 2 * MIB));
+        BatchScheduler scheduler = new BatchScheduler(2, Long.MAX_VALUE);
+        scheduler.run(jobs, job -> {
+            job.generatorName = "java";
+            try (GenerationMetrics.Timer ignored = job.metrics.start(GenerationMetrics.RENDER)) {
+                Thread.sleep(5);
+            }
+            return job.config.equals("first.yaml") ? 2 : 5;
+        }, null, false);
+
+        JsonNode report = new ObjectMapper().readTree(scheduler.report(jobs));
+        assertEquals(report.get("threads").asInt(), 2);
+        assertEquals(report.get("jobs").get("succeeded").asInt(), 2);
+        assertTrue(report.get("peakHeapBytes").asLong() > 0);
+        JsonNode first = report.get("details").get(0);
+        assertEquals(first.get("config").asText(), "first.yaml");
+        assertEquals(first.get("generatorName").asText(), "java");
+        assertEquals(first.get("status").asText(), "succeeded");
+        assertEquals(first.get("files").asInt(), 2);
+        assertEquals(first.get("specBytes").asLong(), MIB);
+        assertTrue(first.get("peakHeapBytes").asLong() > 0);
+        assertTrue(first.get("phases").get("render").get("wallTimeMillis").asLong() >= 5);
+    }
+
+    @Test
+    public void estimatesTheSizeOfSpecs() throws Exception {
+        Path spec = Files.createTempFile("spec", ".yaml");
+        try {
+            Files.write(spec, new byte[1234]);
+            assertEquals(BatchScheduler.specBytes(spec.toString()), 1234);
+            assertEquals(BatchScheduler.specBytes(spec.toUri().toString()), 1234);
+        } finally {
+            Files.delete(spec);
+        }
+        assertEquals(BatchScheduler.specBytes("https://example.com/openapi.yaml"), BatchScheduler.REMOTE_SPEC_BYTES);
+        assertEquals(BatchScheduler.specBytes("missing.yaml"), BatchScheduler.REMOTE_SPEC_BYTES);
+    }
+
+    private static BatchScheduler.Job job(String config, long specBytes) {
+        return new BatchScheduler.Job(config, specBytes);
+    }
+}
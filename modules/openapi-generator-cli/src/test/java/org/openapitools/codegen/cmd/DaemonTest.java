@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.OpenAPIGenerator;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+public class DaemonTest {
+    private static final String SPEC_FILE = "src/test/resources/batch/specs/petstore.yaml";
+
+    private Path stateDirectory;
+    private Path outputDirectory;
+    private Path workingDirectory;
+    private Thread daemonThread;
+    private final AtomicReference<Throwable> daemonFailure = new AtomicReference<>();
+
+    @BeforeMethod
+    public void startDaemon() throws Exception {
+        stateDirectory = Files.createTempDirectory("daemons");
+        outputDirectory = Files.createTempDirectory("daemon-output");
+        workingDirectory = Paths.get("").toAbsolutePath();
+
+        Daemon daemon = (Daemon) OpenAPIGenerator.cli().parse("daemon", "--idle-timeout", "1");
+        daemonThread = new Thread(() -> {
+            try {
+                daemon.serve(stateDirectory, workingDirectory);
+            } catch (Throwable e) {
+                daemonFailure.set(e);
+            }
+        }, "test-daemon");
+        daemonThread.start();
+
+        Path stateFile = DaemonClient.stateFile(stateDirectory, workingDirectory);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!DaemonClient.isRunning(stateFile)) {
+            assertNull(daemonFailure.get());
+            assertTrue(System.currentTimeMillis() < deadline, "the daemon didn't start");
+            Thread.sleep(20);
+        }
+    }
+
+    @AfterMethod
+    public void stopDaemon() throws Exception {
+        if (daemonThread.isAlive()) {
+            run(workingDirectory, "daemon", "--stop");
+            daemonThread.join(10_000);
+        }
+        FileUtils.deleteDirectory(stateDirectory.toFile());
+        FileUtils.deleteDirectory(outputDirectory.toFile());
+    }
+
+    @Test
+    public void generatesInTheDaemon() {
+        Result result = run(workingDirectory, "generate", "-g", "java", "-i", SPEC_FILE, "-o", outputDirectory.toString());
+
+        assertEquals(result.status, OptionalInt.of(0), result.err);
+        assertTrue(Files.isRegularFile(outputDirectory.resolve("pom.xml")));
+        assertTrue(Files.isRegularFile(outputDirectory.resolve("src/main/java/org/openapitools/client/model/Pet.java")));
+    }
+
+    @Test
+    public void reportsFailuresWithoutStopping() {
+        Result failure = run(workingDirectory, "generate", "-g", "java", "-i", "missing.yaml", "-o", outputDirectory.toString());
+        assertEquals(failure.status, OptionalInt.of(1));
+        assertTrue(failure.err.contains("The spec file is not found: missing.yaml"), failure.err);
+
+        Result success = run(workingDirectory, "generate", "-g", "java", "-i", SPEC_FILE, "-o", outputDirectory.toString());
+        assertEquals(success.status, OptionalInt.of(0), success.err);
+        assertTrue(daemonThread.isAlive());
+    }
+
+    @Test
+    public void isolatesGlobalSettings() {
+        Result result = run(workingDirectory, "generate", "-g", "java", "-i", SPEC_FILE, "-o", outputDirectory.toString(),
+                "--global-property", "models");
+        assertEquals(result.status, OptionalInt.of(0), result.err);
+        assertTrue(Files.isRegularFile(outputDirectory.resolve("src/main/java/org/openapitools/client/model/Pet.java")));
+        assertFalse(Files.exists(outputDirectory.resolve("pom.xml")));
+
+        // the global properties of the previous request don't apply
+        Path next = outputDirectory.resolve("next");
+        result = run(workingDirectory, "generate", "-g", "java", "-i", SPEC_FILE, "-o", next.toString());
+        assertEquals(result.status, OptionalInt.of(0), result.err);
+        assertTrue(Files.isRegularFile(next.resolve("pom.xml")));
+    }
+
+    @Test
+    public void declinesOtherWorkingDirectories() {
+        Result result = run(outputDirectory, "generate", "-g", "java", "-i", SPEC_FILE, "-o", outputDirectory.toString());
+
+        assertFalse(result.status.isPresent());
+    }
+
+    @Test
+    public void declinesOtherPostProcessingEnvironments() {
+        Map<String, String> environment = new HashMap<>(System.getenv());
+        environment.put("JAVA_POST_PROCESS_FILE", "echo " + environment.get("JAVA_POST_PROCESS_FILE"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OptionalInt status = new DaemonClient(stateDirectory, workingDirectory, environment)
+                .run(new String[]{"generate", "-g", "java", "-i", SPEC_FILE, "-o", outputDirectory.toString()},
+                        new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        assertFalse(status.isPresent());
+        assertEquals(out.size(), 0);
+        assertFalse(Files.exists(outputDirectory.resolve("pom.xml")));
+        // the daemon still serves the clients with its own environment
+        assertEquals(run(workingDirectory, "generate", "-g", "java", "-i", SPEC_FILE, "-o", outputDirectory.toString()).status,
+                OptionalInt.of(0));
+    }
+
+    @Test
+    public void stopsOnRequest() throws InterruptedException {
+        Result result = run(workingDirectory, "daemon", "--stop");
+        assertEquals(result.status, OptionalInt.of(0));
+        daemonThread.join(10_000);
+
+        assertFalse(daemonThread.isAlive());
+        assertNull(daemonFailure.get());
+        assertFalse(Files.exists(DaemonClient.stateFile(stateDirectory, workingDirectory)));
+        assertFalse(run(workingDirectory, "generate", "-g", "java", "-i", SPEC_FILE, "-o", outputDirectory.toString()).status.isPresent());
+    }
+
+    private Result run(Path directory, String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        OptionalInt status = new DaemonClient(stateDirectory, directory)
+                .run(args, new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+        return new Result(status, out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8));
+    }
+
+    private static class Result {
+        final OptionalInt status;
+        final String out;
+        final String err;
+
+        Result(OptionalInt status, String out, String err) {
+            this.status = status;
+            this.out = out;
+            this.err = err;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.openapitools.codegen.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Destination of the files written by a {@link TemplateProcessor}, used instead of the filesystem (e.g. to stream the
+ * generated files to an archive).
+ * <p>
+ * Files are written as soon as they are rendered, possibly from several threads. The sink is created and closed by
+ * the caller of the generation.
+ */
+public interface OutputSink extends Closeable {
+    /**
+     * Write the contents of a generated file
+     *
+     * @param relativePath The path of the file, relative to the output directory
+     * @param contents     The contents bytes.  Typically this is a UTF-8 formatted string.
+     * @throws IOException If the file cannot be written.
+     */
+    void write(Path relativePath, byte[] contents) throws IOException;
+}
@@ -25,6 +25,8 @@ package org.openapitools.codegen.online.api;
 import io.swagger.annotations.*;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
@@ -83,6 +85,64 @@ public interface GenApi {
     }
 
 
+    @ApiOperation(value = "Queues the generation of a client library", nickname = "submitClientJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The status of the returned job can be polled until the generated code can be downloaded.", response = JobStatus.class, tags = {"clients", "jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job queued", response = JobStatus.class),
+            @ApiResponse(code = 429, message = "too many jobs queued")})
+    @RequestMapping(value = "/gen/jobs/clients/{language}",
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitClientJob(@ApiParam(value = "The target language for the client library", required = true) @PathVariable("language") String language, @ApiParam(value = "Configuration for building the client library", required = true) @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitClientJob(language, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Queues the generation of a server library", nickname = "submitServerJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The status of the returned job can be polled until the generated code can be downloaded.", response = JobStatus.class, tags = {"servers", "jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job queued", response = JobStatus.class),
+            @ApiResponse(code = 429, message = "too many jobs queued")})
+    @RequestMapping(value = "/gen/jobs/servers/{framework}",
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitServerJob(@ApiParam(value = "framework", required = true) @PathVariable("framework") String framework, @ApiParam(value = "parameters", required = true) @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitServerJob(framework, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Returns the status of a generation job", nickname = "getJobStatus", notes = "", response = JobStatus.class, tags = {"jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobStatus.class),
+            @ApiResponse(code = 404, message = "unknown or expired job")})
+    @RequestMapping(value = "/gen/jobs/{jobId}",
+            produces = {"application/json"},
+            method = RequestMethod.GET)
+    default ResponseEntity<JobStatus> getJobStatus(@ApiParam(value = "", required = true) @PathVariable("jobId") String jobId) {
+        return getDelegate().getJobStatus(jobId);
+    }
+
+
+    @ApiOperation(value = "Downloads the code generated by a job", nickname = "downloadJob", notes = "The code can be downloaded once the job succeeded, until it expires.", response = MultipartFile.class, tags = {"jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = MultipartFile.class),
+            @ApiResponse(code = 404, message = "unknown or expired job"),
+            @ApiResponse(code = 409, message = "job not succeeded")})
+    @RequestMapping(value = "/gen/jobs/{jobId}/download",
+            produces = {"application/octet-stream"},
+            method = RequestMethod.GET)
+    default ResponseEntity<Resource> downloadJob(@ApiParam(value = "", required = true) @PathVariable("jobId") String jobId) {
+        return getDelegate().downloadJob(jobId);
+    }
+
+
+    @ApiOperation(value = "Returns the metrics of the generation jobs", nickname = "getJobMetrics", notes = "", response = JobMetrics.class, tags = {"jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobMetrics.class)})
+    @RequestMapping(value = "/gen/jobs/metrics",
+            produces = {"application/json"},
+            method = RequestMethod.GET)
+    default ResponseEntity<JobMetrics> getJobMetrics() {
+        return getDelegate().getJobMetrics();
+    }
+
+
     @ApiOperation(value = "Returns options for a client library", nickname = "getClientOptions", notes = "", tags = {"clients",})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "successful operation")})
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class JobMetrics {
+    @ApiModelProperty(value = "Number of jobs generated concurrently")
+    private int concurrency;
+    @ApiModelProperty(value = "Number of jobs which can wait for a generation thread")
+    private int queueCapacity;
+    @ApiModelProperty(value = "Number of jobs waiting for a generation thread")
+    private int queueDepth;
+    @ApiModelProperty(value = "Number of jobs being generated, including the timed out jobs whose generation didn't stop yet")
+    private int running;
+    @ApiModelProperty(value = "Number of jobs whose status or result is stored")
+    private int stored;
+    @ApiModelProperty(value = "Number of accepted jobs")
+    private long submitted;
+    @ApiModelProperty(value = "Number of jobs rejected because the queue was full")
+    private long rejected;
+    @ApiModelProperty(value = "Number of succeeded jobs")
+    private long succeeded;
+    @ApiModelProperty(value = "Number of failed jobs, including the timed out jobs")
+    private long failed;
+    @ApiModelProperty(value = "Number of jobs which timed out")
+    private long timedOut;
+    @ApiModelProperty(value = "Number of timed out jobs whose generation didn't stop yet, still taking a generation thread")
+    private int timedOutRunning;
+    @ApiModelProperty(value = "Number of results evicted once expired")
+    private long evicted;
+    @ApiModelProperty(value = "Average time spent waiting for a generation thread, in milliseconds")
+    private long averageQueuedMillis;
+    @ApiModelProperty(value = "Longest time spent waiting for a generation thread, in milliseconds")
+    private long maxQueuedMillis;
+    @ApiModelProperty(value = "Average generation time, in milliseconds")
+    private long averageRunMillis;
+    @ApiModelProperty(value = "Longest generation time, in milliseconds")
+    private long maxRunMillis;
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class JobStatus {
+    @ApiModelProperty(value = "Job id", example = "d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    private String id;
+    @ApiModelProperty(value = "Job status", allowableValues = "QUEUED, RUNNING, SUCCEEDED, FAILED")
+    private String status;
+    @ApiModelProperty(value = "Reason of the failure of a failed job")
+    private String message;
+    @ApiModelProperty(value = "URL for polling the status of the job",
+            example = "http://localhost:8080/api/gen/jobs/d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    private String statusLink;
+    @ApiModelProperty(value = "URL for fetching the generated code, once the job succeeded",
+            example = "http://localhost:8080/api/gen/jobs/d40029be-eda6-4d62-b1ef-d05e2e91a72a/download")
+    private String link;
+    @ApiModelProperty(value = "Time spent waiting for a generation thread, in milliseconds")
+    private long queuedMillis;
+    @ApiModelProperty(value = "Time spent generating, in milliseconds")
+    private long runMillis;
+}
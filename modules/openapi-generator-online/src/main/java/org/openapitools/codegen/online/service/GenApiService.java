@@ -20,12 +20,14 @@ package org.openapitools.codegen.online.service;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CliOption;
-import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigDescriptor;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.online.api.GenApiDelegate;
 import org.openapitools.codegen.online.model.Generated;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
@@ -43,20 +45,21 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class GenApiService implements GenApiDelegate {
 
     private static List<String> clients = new ArrayList<>();
     private static List<String> servers = new ArrayList<>();
-    private static Map<String, Generated> fileMap = new HashMap<>();
+    private static Map<String, Generated> fileMap = new ConcurrentHashMap<>();
 
     static {
-        List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
-        for (CodegenConfig config : extensions) {
+        for (CodegenConfigDescriptor config : CodegenConfigLoader.getGenerators()) {
             if (config.getTag().equals(CodegenType.CLIENT)
                     || config.getTag().equals(CodegenType.DOCUMENTATION)) {
                 clients.add(config.getName());
@@ -72,6 +75,9 @@ public class GenApiService implements GenApiDelegate {
     @Autowired
     private NativeWebRequest request;
 
+    @Autowired
+    private GenerationJobService jobs;
+
     @Override
     public Optional<NativeWebRequest> getRequest() {
         return Optional.ofNullable(request);
@@ -98,11 +104,15 @@ public class GenApiService implements GenApiDelegate {
         } catch (IOException e) {
             System.out.println("failed to delete file " + file.getAbsolutePath());
         }
+        return zipResponse(resource, g.getFriendlyName());
+    }
+
+    private static ResponseEntity<Resource> zipResponse(Resource resource, String friendlyName) {
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.valueOf("application/zip"))
                 .header("Content-Disposition",
-                        "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
+                        "attachment; filename=\"" + friendlyName + "-generated.zip\"")
                 .header("Accept-Range", "bytes")
                 //.header("Content-Length", bytes.length)
                 .body(resource);
@@ -157,15 +167,79 @@ public class GenApiService implements GenApiDelegate {
         return getResponse(filename, framework + "-server");
     }
 
-    private ResponseEntity<ResponseCode> getResponse(String filename, String friendlyName) {
-        String host = System.getenv("GENERATOR_HOST");
+    @Override
+    public ResponseEntity<JobStatus> submitClientJob(String language, GeneratorInput generatorInput) {
+        GenerationJob job = jobs.submit(language + "-client", () -> Generator.generateClient(language, generatorInput));
+        return ResponseEntity.accepted().body(getJobStatus(job));
+    }
+
+    @Override
+    public ResponseEntity<JobStatus> submitServerJob(String framework, GeneratorInput generatorInput) {
+        GenerationJob job = jobs.submit(framework + "-server", () -> Generator.generateServer(framework, generatorInput));
+        return ResponseEntity.accepted().body(getJobStatus(job));
+    }
+
+    @Override
+    public ResponseEntity<JobStatus> getJobStatus(String jobId) {
+        return ResponseEntity.ok().body(getJobStatus(getJob(jobId)));
+    }
+
+    @Override
+    public ResponseEntity<Resource> downloadJob(String jobId) {
+        GenerationJob job = getJob(jobId);
+        if (job.getStatus() != GenerationJob.Status.SUCCEEDED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job " + jobId + " is " + job.getStatus());
+        }
+        try {
+            // the result is kept until it expires, so that it can be downloaded again
+            return zipResponse(new ByteArrayResource(Files.readAllBytes(Paths.get(job.getFilename()))), job.getFriendlyName());
+        } catch (NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found", e);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "I/O error while reading file", e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<JobMetrics> getJobMetrics() {
+        return ResponseEntity.ok().body(jobs.getMetrics());
+    }
+
+    private GenerationJob getJob(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired job " + jobId);
+        }
+        return job;
+    }
+
+    private JobStatus getJobStatus(GenerationJob job) {
+        long now = System.currentTimeMillis();
+        GenerationJob.Status status = job.getStatus();
+        JobStatus jobStatus = new JobStatus();
+        jobStatus.setId(job.getId());
+        jobStatus.setStatus(status.name());
+        jobStatus.setMessage(job.getMessage());
+        jobStatus.setStatusLink(uriBuilder().path("/api/gen/jobs/").path(job.getId()).toUriString());
+        if (status == GenerationJob.Status.SUCCEEDED) {
+            jobStatus.setLink(uriBuilder().path("/api/gen/jobs/").path(job.getId()).path("/download").toUriString());
+        }
+        jobStatus.setQueuedMillis(job.getQueuedMillis(now));
+        jobStatus.setRunMillis(job.getRunMillis(now));
+        return jobStatus;
+    }
 
-        UriComponentsBuilder uriBuilder;
+    private static UriComponentsBuilder uriBuilder() {
+        String host = System.getenv("GENERATOR_HOST");
         if (!StringUtils.isBlank(host)) {
-            uriBuilder = UriComponentsBuilder.fromUriString(host);
+            return UriComponentsBuilder.fromUriString(host);
         } else {
-            uriBuilder = ServletUriComponentsBuilder.fromCurrentContextPath();
+            return ServletUriComponentsBuilder.fromCurrentContextPath();
         }
+    }
+
+    private ResponseEntity<ResponseCode> getResponse(String filename, String friendlyName) {
+        UriComponentsBuilder uriBuilder = uriBuilder();
 
         if (filename != null) {
             String code = UUID.randomUUID().toString();
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import lombok.Getter;
+
+/**
+ * A generation submitted to the {@link GenerationJobService}, whose status can be polled until its result is
+ * downloaded or expires.
+ */
+public class GenerationJob {
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    @Getter private final String id;
+    @Getter private final String friendlyName;
+    @Getter private final long submittedAt;
+    private long startedAt;
+    private long completedAt;
+    private Status status = Status.QUEUED;
+    private String message;
+    private String filename;
+    // the thread running the job, interrupted when the job times out
+    private Thread thread;
+    private boolean timedOut;
+
+    GenerationJob(String id, String friendlyName, long submittedAt) {
+        this.id = id;
+        this.friendlyName = friendlyName;
+        this.submittedAt = submittedAt;
+    }
+
+    synchronized boolean start(Thread thread, long now) {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        this.status = Status.RUNNING;
+        this.thread = thread;
+        this.startedAt = now;
+        return true;
+    }
+
+    synchronized boolean succeed(String filename, long now) {
+        if (status != Status.RUNNING) {
+            return false;
+        }
+        this.status = Status.SUCCEEDED;
+        this.filename = filename;
+        this.completedAt = now;
+        return true;
+    }
+
+    synchronized boolean fail(String message, long now) {
+        if (status == Status.SUCCEEDED || status == Status.FAILED) {
+            return false;
+        }
+        this.status = Status.FAILED;
+        this.message = message;
+        this.completedAt = now;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Fails the job which ran for too long, and interrupts its generation.
+     *
+     * @return false if the job already completed or released its thread
+     */
+    synchronized boolean timeOut(String message, long now) {
+        if (thread == null || !fail(message, now)) {
+            return false;
+        }
+        this.timedOut = true;
+        return true;
+    }
+
+    /**
+     * Detaches the job from the thread which ran it, so that the thread is no longer interrupted on behalf of the job.
+     *
+     * @return true if the job had timed out, its generation only stopping now
+     */
+    synchronized boolean release() {
+        this.thread = null;
+        return timedOut;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized String getMessage() {
+        return message;
+    }
+
+    public synchronized String getFilename() {
+        return filename;
+    }
+
+    public synchronized long getQueuedMillis(long now) {
+        return (startedAt != 0 ? startedAt : completedAt != 0 ? completedAt : now) - submittedAt;
+    }
+
+    public synchronized long getRunMillis(long now) {
+        return startedAt == 0 ? 0 : (completedAt != 0 ? completedAt : now) - startedAt;
+    }
+
+    synchronized boolean isExpired(long now, long ttlMillis) {
+        return completedAt != 0 && now - completedAt >= ttlMillis;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs generations asynchronously, off the servlet threads.
+ * <p>
+ * At most {@code generator.jobs.concurrency} jobs are generated at once (the number of processors by default), and at
+ * most {@code generator.jobs.queue-capacity} jobs wait for a generation thread: further jobs are rejected until the
+ * queue drains. A job running for longer than {@code generator.jobs.timeout-seconds} fails and its generation is
+ * interrupted, which stops between two models, tags or phases of the generation: until then, the timed out job still
+ * takes a generation thread. The results of completed jobs are deleted {@code generator.jobs.ttl-seconds} after
+ * completion.
+ */
+@Service
+public class GenerationJobService implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationJobService.class);
+
+    private final int concurrency;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final long ttlMillis;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final AtomicInteger timedOutRunning = new AtomicInteger();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder queuedMillis = new LongAdder();
+    private final LongAccumulator maxQueuedMillis = new LongAccumulator(Math::max, 0);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder runMillis = new LongAdder();
+    private final LongAccumulator maxRunMillis = new LongAccumulator(Math::max, 0);
+
+    @Autowired
+    public GenerationJobService(@Value("${generator.jobs.concurrency:0}") int concurrency,
+                                @Value("${generator.jobs.queue-capacity:100}") int queueCapacity,
+                                @Value("${generator.jobs.timeout-seconds:600}") long timeoutSeconds,
+                                @Value("${generator.jobs.ttl-seconds:3600}") long ttlSeconds) {
+        this.concurrency = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.executor = new ThreadPoolExecutor(this.concurrency, this.concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory("generation-job-"), new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("generation-job-scheduler-"));
+        long evictionPeriod = Math.max(1000L, Math.min(ttlMillis, TimeUnit.MINUTES.toMillis(1)));
+        this.scheduler.scheduleWithFixedDelay(() -> evictExpired(System.currentTimeMillis()),
+                evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Queues a generation.
+     *
+     * @param friendlyName The name of the generated code, e.g. "java-client"
+     * @param generation   The generation, returning the path of the generated zip file
+     * @return The queued job
+     * @throws ResponseStatusException (429) if the queue is full
+     */
+    public GenerationJob submit(String friendlyName, Callable<String> generation) {
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), friendlyName, System.currentTimeMillis());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, generation));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    String.format(Locale.ROOT, "Too many generations in progress (%d queued), retry later", executor.getQueue().size()));
+        }
+        submitted.increment();
+        return job;
+    }
+
+    private void run(GenerationJob job, Callable<String> generation) {
+        long start = System.currentTimeMillis();
+        if (!job.start(Thread.currentThread(), start)) {
+            return;
+        }
+        long waited = start - job.getSubmittedAt();
+        started.increment();
+        queuedMillis.add(waited);
+        maxQueuedMillis.accumulate(waited);
+
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (job.timeOut(String.format(Locale.ROOT, "Generation timed out after %d seconds", TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)),
+                    System.currentTimeMillis())) {
+                LOGGER.warn("Generation job {} ({}) timed out", job.getId(), job.getFriendlyName());
+                timedOut.increment();
+                failed.increment();
+                timedOutRunning.incrementAndGet();
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            String filename = generation.call();
+            if (job.succeed(filename, System.currentTimeMillis())) {
+                succeeded.increment();
+            } else {
+                // timed out in the meantime
+                deleteResult(filename);
+            }
+        } catch (ResponseStatusException e) {
+            if (job.fail(e.getReason(), System.currentTimeMillis())) {
+                failed.increment();
+            }
+        } catch (Exception e) {
+            // not logged when interrupted by the timeout
+            if (job.fail(e.getMessage(), System.currentTimeMillis())) {
+                LOGGER.error("Generation job {} ({}) failed", job.getId(), job.getFriendlyName(), e);
+                failed.increment();
+            }
+        } finally {
+            timeout.cancel(false);
+            if (job.release()) {
+                timedOutRunning.decrementAndGet();
+            }
+            // clears an interruption on behalf of the job, which must not leak to the next job run by the thread
+            Thread.interrupted();
+            long elapsed = System.currentTimeMillis() - start;
+            completed.increment();
+            runMillis.add(elapsed);
+            maxRunMillis.accumulate(elapsed);
+        }
+    }
+
+    /**
+     * @param id The job id
+     * @return The job, or null if unknown or expired
+     */
+    public GenerationJob get(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Deletes the results of the jobs completed for longer than the TTL.
+     *
+     * @param now The current time, in milliseconds
+     */
+    void evictExpired(long now) {
+        jobs.values().removeIf(job -> {
+            if (!job.isExpired(now, ttlMillis)) {
+                return false;
+            }
+            evicted.increment();
+            deleteResult(job.getFilename());
+            return true;
+        });
+    }
+
+    private static void deleteResult(String filename) {
+        if (filename == null) {
+            return;
+        }
+        // the zip file is alone in its temporary folder
+        File folder = new File(filename).getParentFile();
+        try {
+            FileUtils.deleteDirectory(folder);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete generation result {}", folder, e);
+        }
+    }
+
+    /**
+     * @return The current metrics of the queue and of the jobs run so far
+     */
+    public JobMetrics getMetrics() {
+        JobMetrics metrics = new JobMetrics();
+        metrics.setConcurrency(concurrency);
+        metrics.setQueueCapacity(queueCapacity);
+        metrics.setQueueDepth(executor.getQueue().size());
+        metrics.setRunning(executor.getActiveCount());
+        metrics.setStored(jobs.size());
+        metrics.setSubmitted(submitted.sum());
+        metrics.setRejected(rejected.sum());
+        metrics.setSucceeded(succeeded.sum());
+        metrics.setFailed(failed.sum());
+        metrics.setTimedOut(timedOut.sum());
+        metrics.setTimedOutRunning(timedOutRunning.get());
+        metrics.setEvicted(evicted.sum());
+        long startedCount = started.sum();
+        metrics.setAverageQueuedMillis(startedCount == 0 ? 0 : queuedMillis.sum() / startedCount);
+        metrics.setMaxQueuedMillis(maxQueuedMillis.get());
+        long completedCount = completed.sum();
+        metrics.setAverageRunMillis(completedCount == 0 ? 0 : runMillis.sum() / completedCount);
+        metrics.setMaxRunMillis(maxRunMillis.get());
+        return metrics;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+        jobs.values().forEach(job -> deleteResult(job.getFilename()));
+        jobs.clear();
+    }
+}
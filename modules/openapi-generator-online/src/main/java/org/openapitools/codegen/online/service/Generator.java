@@ -22,6 +22,7 @@ import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import io.swagger.v3.parser.core.models.ParseOptions;
+import org.apache.commons.io.FileUtils;
 import org.openapitools.codegen.*;
 import org.openapitools.codegen.online.model.GeneratorInput;
 import org.slf4j.Logger;
@@ -29,8 +30,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class Generator {
@@ -147,32 +151,24 @@ public class Generator {
 
         clientOptInput.config(codegenConfig);
 
-        try {
-            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<>();
-                LOGGER.debug("adding to {}", outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
+        // the files are compressed as they are rendered, only the ignore file generated from openapiGeneratorIgnoreList
+        // is written to the output folder
+        try (ArchiveOutputSink sink = new ArchiveOutputSink(
+                new BufferedOutputStream(Files.newOutputStream(Paths.get(outputFilename))), destPath)) {
+            LOGGER.debug("adding to {}", outputFilename);
+            List<File> files = new DefaultGenerator().opts(clientOptInput.outputSink(sink)).generate();
+            if (files.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "A target generation was attempted, but no files were created!");
             }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath(), e);
-                }
-            }
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
+        } finally {
             try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
+                FileUtils.deleteDirectory(new File(outputFolder));
+            } catch (IOException e) {
                 LOGGER.error("unable to delete output folder " + outputFolder, e);
             }
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
         }
         return outputFilename;
     }
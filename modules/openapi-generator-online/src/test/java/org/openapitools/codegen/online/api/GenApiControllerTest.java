@@ -3,6 +3,7 @@ package org.openapitools.codegen.online.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -12,6 +13,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.util.Assert;
 
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.text.MatchesPattern.matchesPattern;
@@ -162,4 +164,44 @@ public class GenApiControllerTest {
         Assert.isTrue(lengthOfNormalized <= lengthOfNotNormalized, "Using the normalizer should result in a smaller or equal file size");
 
     }
+
+    @Test
+    public void generateAsynchronously() throws Exception {
+        String spec = "{\"spec\": {\"openapi\": \"3.0.1\", \"info\": {\"title\": \"Jobs\", \"version\": \"1.0\"}, "
+                + "\"paths\": {\"/ping\": {\"get\": {\"operationId\": \"ping\", \"responses\": {\"200\": {\"description\": \"pong\"}}}}}}}";
+        String result = mockMvc.perform(post("http://test.com:1234/api/gen/jobs/clients/java")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(spec))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(matchesPattern(UUID_REGEX)))
+                .andExpect(jsonPath("$.statusLink").value(matchesPattern("http\\:\\/\\/test.com\\:1234\\/api\\/gen\\/jobs\\/" + UUID_REGEX)))
+                .andReturn().getResponse().getContentAsString();
+        String id = new ObjectMapper().readValue(result, JobStatus.class).getId();
+
+        JobStatus status;
+        long deadline = System.currentTimeMillis() + 120_000;
+        do {
+            Thread.sleep(100);
+            status = new ObjectMapper().readValue(mockMvc.perform(get("http://test.com:1234/api/gen/jobs/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), JobStatus.class);
+        } while (("QUEUED".equals(status.getStatus()) || "RUNNING".equals(status.getStatus())) && System.currentTimeMillis() < deadline);
+        Assert.isTrue("SUCCEEDED".equals(status.getStatus()), "The job should succeed: " + status.getMessage());
+        Assert.isTrue(status.getLink().equals("http://test.com:1234/api/gen/jobs/" + id + "/download"), status.getLink());
+
+        // the result can be downloaded until it expires
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("http://test.com:1234/api/gen/jobs/" + id + "/download"))
+                    .andExpect(content().contentType("application/zip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, not(0)));
+        }
+
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.queueDepth").value(0));
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,145 @@
+package org.openapitools.codegen.online.service;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationJobServiceTest {
+
+    @Test
+    public void rejectsJobsBeyondQueueCapacity() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 1, 600, 3600);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            GenerationJob running = service.submit("running", () -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            GenerationJob queued = service.submit("queued", () -> null);
+            assertEquals(GenerationJob.Status.QUEUED, queued.getStatus());
+
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.submit("rejected", () -> null));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+
+            JobMetrics metrics = service.getMetrics();
+            assertEquals(1, metrics.getQueueDepth());
+            assertEquals(1, metrics.getRunning());
+            assertEquals(2, metrics.getSubmitted());
+            assertEquals(1, metrics.getRejected());
+
+            release.countDown();
+            awaitCompletion(queued);
+            assertEquals(GenerationJob.Status.SUCCEEDED, running.getStatus());
+            assertEquals(GenerationJob.Status.SUCCEEDED, queued.getStatus());
+            assertEquals(2, awaitCount(() -> service.getMetrics().getSucceeded(), 2));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void failsJobsRunningLongerThanTimeout() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 1, 1, 3600);
+        try {
+            GenerationJob job = service.submit("slow", () -> {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                return null;
+            });
+            awaitCompletion(job);
+            assertEquals(GenerationJob.Status.FAILED, job.getStatus());
+            assertEquals("Generation timed out after 1 seconds", job.getMessage());
+            assertEquals(1, awaitCount(() -> service.getMetrics().getTimedOut(), 1));
+
+            // the thread is released for the next job, without a pending interruption
+            GenerationJob next = service.submit("next", () -> {
+                Thread.sleep(10);
+                return null;
+            });
+            awaitCompletion(next);
+            assertEquals(GenerationJob.Status.SUCCEEDED, next.getStatus());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void countsTimedOutJobsStillRunning() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 1, 1, 3600);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            GenerationJob job = service.submit("stuck", () -> {
+                // a generation not checking for the interruption
+                while (release.getCount() > 0) {
+                    Thread.onSpinWait();
+                }
+                return null;
+            });
+            awaitCompletion(job);
+            assertEquals(GenerationJob.Status.FAILED, job.getStatus());
+            assertEquals(1, awaitCount(() -> service.getMetrics().getTimedOutRunning(), 1));
+            assertEquals(1, service.getMetrics().getRunning());
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            while (service.getMetrics().getTimedOutRunning() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, service.getMetrics().getTimedOutRunning());
+            assertEquals(1, service.getMetrics().getTimedOut());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void evictsExpiredResults() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 1, 600, 60);
+        try {
+            Path folder = Files.createTempDirectory("codegen-tmp");
+            Path zip = Files.write(folder.resolve("java-client-bundle.zip"), new byte[]{1});
+            GenerationJob job = service.submit("java-client", zip::toString);
+            awaitCompletion(job);
+            assertEquals(GenerationJob.Status.SUCCEEDED, job.getStatus());
+
+            service.evictExpired(System.currentTimeMillis());
+            assertSame(job, service.get(job.getId()));
+            assertTrue(Files.exists(zip));
+
+            service.evictExpired(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60));
+            assertNull(service.get(job.getId()));
+            assertFalse(Files.exists(folder));
+            assertEquals(1, service.getMetrics().getEvicted());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    // jobs are counted once their status is updated
+    private static long awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (count.getAsLong() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return count.getAsLong();
+    }
+
+    private static void awaitCompletion(GenerationJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while ((job.getStatus() == GenerationJob.Status.QUEUED || job.getStatus() == GenerationJob.Status.RUNNING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.openapitools.codegen.online.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.openapitools.codegen.online.model.GeneratorInput;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratorTest {
+
+    @Test
+    public void deletesTheOutputFolderOnceArchived() throws Exception {
+        GeneratorInput input = new GeneratorInput();
+        input.setSpec(new ObjectMapper().readTree("{\"openapi\": \"3.0.1\", \"info\": {\"title\": \"Ignored\", \"version\": \"1.0\"}, "
+                + "\"paths\": {\"/ping\": {\"get\": {\"operationId\": \"ping\", \"responses\": {\"200\": {\"description\": \"OK\"}}}}}}"));
+        input.setOptions(Collections.emptyMap());
+
+        String language = IgnoreListCodegen.class.getName();
+        File archive = new File(Generator.generateClient(language, input));
+        try {
+            try (ZipFile zip = new ZipFile(archive)) {
+                assertNotNull(zip.getEntry(language + "-client/.openapi-generator-ignore"));
+                assertNotNull(zip.getEntry(language + "-client/pom.xml"));
+            }
+            // the ignore file was written to the output folder before being archived
+            assertFalse(new File(archive.getParentFile(), language + "-client").exists());
+        } finally {
+            FileUtils.deleteDirectory(archive.getParentFile());
+        }
+    }
+
+    public static class IgnoreListCodegen extends JavaClientCodegen {
+        public IgnoreListCodegen() {
+            openapiGeneratorIgnoreList.add("docs/");
+        }
+    }
+}
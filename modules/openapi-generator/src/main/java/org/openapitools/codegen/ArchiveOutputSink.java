@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.api.OutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the generated files to a zip (or jar) archive as they are rendered, instead of writing them to the output
+ * directory. Entries are named after the path of the files relative to the output directory.
+ * <p>
+ * Archives can't overwrite their entries: when the same file is written twice, the first contents are kept.
+ */
+public class ArchiveOutputSink implements OutputSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveOutputSink.class);
+
+    private final ZipOutputStream archive;
+    private final String entryPrefix;
+    private final Set<String> entries = new HashSet<>();
+
+    /**
+     * Constructs a sink writing to a zip stream
+     *
+     * @param out         The stream the archive is written to, closed with the sink
+     * @param entryPrefix The directory of the entries within the archive (e.g. "java-client/"), empty for the root
+     */
+    public ArchiveOutputSink(OutputStream out, String entryPrefix) {
+        this(new ZipOutputStream(out), entryPrefix);
+    }
+
+    private ArchiveOutputSink(ZipOutputStream archive, String entryPrefix) {
+        this.archive = archive;
+        if (entryPrefix == null || entryPrefix.isEmpty()) {
+            this.entryPrefix = "";
+        } else {
+            this.entryPrefix = entryPrefix.endsWith("/") ? entryPrefix : entryPrefix + "/";
+        }
+    }
+
+    /**
+     * Creates a sink writing to an archive file, a jar if the file name ends with ".jar" and a zip otherwise
+     *
+     * @param archiveFile The archive file, overwritten if it exists
+     * @return The sink
+     * @throws IOException If the archive file cannot be created.
+     */
+    public static ArchiveOutputSink create(Path archiveFile) throws IOException {
+        Path parent = archiveFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(archiveFile));
+        boolean jar = archiveFile.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".jar");
+        return new ArchiveOutputSink(jar ? new JarOutputStream(out) : new ZipOutputStream(out), "");
+    }
+
+    @Override
+    public synchronized void write(Path relativePath, byte[] contents) throws IOException {
+        String name = entryPrefix + relativePath.toString().replace(File.separatorChar, '/');
+        if (!entries.add(name)) {
+            LOGGER.warn("Skipping duplicate archive entry {}", name);
+            return;
+        }
+        archive.putNextEntry(new ZipEntry(name));
+        archive.write(contents);
+        archive.closeEntry();
+    }
+
+    /**
+     * @return The number of entries written so far
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        archive.close();
+    }
+}
@@ -20,6 +20,7 @@ package org.openapitools.codegen;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import lombok.Getter;
+import org.openapitools.codegen.api.OutputSink;
 import org.openapitools.codegen.api.TemplateDefinition;
 import org.openapitools.codegen.auth.AuthParser;
 import org.openapitools.codegen.config.GeneratorSettings;
@@ -33,6 +34,10 @@ public class ClientOptInput {
     private List<AuthorizationValue> auths;
     // not deprecated as this is added to match other functionality, we need to move to Context<?> instead of ClientOptInput.
     @Getter private List<TemplateDefinition> userDefinedTemplates;
+    // metrics of the generation, including the parsing of the spec which happens before the generator runs
+    @Getter private GenerationMetrics generationMetrics;
+    // destination of the generated files when not written to the output directory, e.g. an archive
+    @Getter private OutputSink outputSink;
 
     public ClientOptInput openAPI(OpenAPI openAPI) {
         this.setOpenAPI(openAPI);
@@ -54,6 +59,16 @@ public class ClientOptInput {
         return this;
     }
 
+    public ClientOptInput generationMetrics(GenerationMetrics generationMetrics) {
+        this.generationMetrics = generationMetrics;
+        return this;
+    }
+
+    public ClientOptInput outputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -31,6 +31,7 @@ import org.openapitools.codegen.model.ModelMap;
 import org.openapitools.codegen.model.ModelsMap;
 import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.model.WebhooksMap;
+import org.openapitools.codegen.utils.NameCache;
 
 import java.io.File;
 import java.util.List;
@@ -313,6 +314,21 @@ public interface CodegenConfig {
 
     void postProcessFile(File file, String fileType);
 
+    /**
+     * Runs the post-processor invocations deferred while the batchPostProcessFile global property is enabled.
+     * Does nothing by default, for generators which don't defer them.
+     */
+    default void postProcessBatchedFiles() {
+    }
+
+    /**
+     * @return The cache of the names computed during a generation, cleared once the generation completes, or null
+     * (the default) if names aren't cached
+     */
+    default NameCache getNameCache() {
+        return null;
+    }
+
     boolean isEnablePostProcessFile();
 
     void setEnablePostProcessFile(boolean isEnablePostProcessFile);
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.meta.GeneratorMetadata;
+import org.openapitools.codegen.meta.Stability;
+
+import java.util.ServiceLoader;
+
+/**
+ * A generator available through {@link CodegenConfigLoader}: its name, type and stability, read once, and the way to
+ * instantiate it.
+ */
+public final class CodegenConfigDescriptor {
+    private final String name;
+    private final CodegenType tag;
+    private final Stability stability;
+    private final Class<? extends CodegenConfig> type;
+    private final ServiceLoader.Provider<CodegenConfig> provider;
+
+    CodegenConfigDescriptor(ServiceLoader.Provider<CodegenConfig> provider, CodegenConfig config) {
+        GeneratorMetadata metadata = config.getGeneratorMetadata();
+        this.name = config.getName();
+        this.tag = config.getTag();
+        this.stability = metadata == null ? null : metadata.getStability();
+        this.type = provider.type();
+        this.provider = provider;
+    }
+
+    /**
+     * @return The name of the generator, see {@link CodegenConfig#getName()}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The type of the generator, see {@link CodegenConfig#getTag()}
+     */
+    public CodegenType getTag() {
+        return tag;
+    }
+
+    /**
+     * @return The stability of the generator, or null if it has no metadata
+     */
+    public Stability getStability() {
+        return stability;
+    }
+
+    /**
+     * @return The generator class
+     */
+    public Class<? extends CodegenConfig> getType() {
+        return type;
+    }
+
+    /**
+     * @return A new instance of the generator
+     */
+    public CodegenConfig newInstance() {
+        return provider.get();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + type.getName() + ")";
+    }
+}
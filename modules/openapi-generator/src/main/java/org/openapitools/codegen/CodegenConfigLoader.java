@@ -18,10 +18,21 @@
 package org.openapitools.codegen;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.stream.Collectors;
 
 public class CodegenConfigLoader {
+    /**
+     * The generators found with SPI, indexed by name as they're first looked up: a generator is instantiated once to
+     * read its name, and then only when requested.
+     */
+    private static final Registry REGISTRY = new Registry();
+
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
      *
@@ -29,32 +40,82 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader());
-
-        StringBuilder availableConfigs = new StringBuilder();
-
-        for (CodegenConfig config : loader) {
-            if (config.getName().equals(name)) {
-                return config;
-            }
-
-            availableConfigs.append(config.getName()).append("\n");
+        CodegenConfig config = REGISTRY.newInstance(name);
+        if (config != null) {
+            return config;
         }
 
         // else try to load directly
         try {
             return (CodegenConfig) Class.forName(name).getDeclaredConstructor().newInstance();
         } catch (Exception e) {
+            String availableConfigs = getGenerators().stream()
+                    .map(descriptor -> descriptor.getName() + "\n")
+                    .collect(Collectors.joining());
             throw new GeneratorNotFoundException("Can't load config class with name '".concat(name) + "'\nAvailable:\n" + availableConfigs, e);
         }
     }
 
+    /**
+     * @return A new instance of each generator found with SPI
+     */
     public static List<CodegenConfig> getAll() {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader());
         List<CodegenConfig> output = new ArrayList<CodegenConfig>();
-        for (CodegenConfig aLoader : loader) {
-            output.add(aLoader);
+        for (CodegenConfigDescriptor descriptor : getGenerators()) {
+            output.add(descriptor.newInstance());
         }
         return output;
     }
+
+    /**
+     * Lists the generators found with SPI without instantiating them, e.g. to list their names.
+     *
+     * @return The generators, in the order they're found
+     */
+    public static List<CodegenConfigDescriptor> getGenerators() {
+        return REGISTRY.getAll();
+    }
+
+    private static final class Registry {
+        private final Map<String, CodegenConfigDescriptor> descriptors = new LinkedHashMap<>();
+        private Iterator<ServiceLoader.Provider<CodegenConfig>> providers;
+
+        synchronized CodegenConfig newInstance(String name) {
+            CodegenConfigDescriptor descriptor = descriptors.get(name);
+            if (descriptor != null) {
+                return descriptor.newInstance();
+            }
+            // look further, the instance read to index the generator being the one returned
+            Iterator<ServiceLoader.Provider<CodegenConfig>> it = providers();
+            while (it.hasNext()) {
+                ServiceLoader.Provider<CodegenConfig> provider = it.next();
+                CodegenConfig config = provider.get();
+                if (index(provider, config) && config.getName().equals(name)) {
+                    return config;
+                }
+            }
+            return null;
+        }
+
+        synchronized List<CodegenConfigDescriptor> getAll() {
+            Iterator<ServiceLoader.Provider<CodegenConfig>> it = providers();
+            while (it.hasNext()) {
+                ServiceLoader.Provider<CodegenConfig> provider = it.next();
+                index(provider, provider.get());
+            }
+            return Collections.unmodifiableList(new ArrayList<>(descriptors.values()));
+        }
+
+        // the first generator found with a name is the one used
+        private boolean index(ServiceLoader.Provider<CodegenConfig> provider, CodegenConfig config) {
+            return descriptors.putIfAbsent(config.getName(), new CodegenConfigDescriptor(provider, config)) == null;
+        }
+
+        private Iterator<ServiceLoader.Provider<CodegenConfig>> providers() {
+            if (providers == null) {
+                providers = ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader()).stream().iterator();
+            }
+            return providers;
+        }
+    }
 }
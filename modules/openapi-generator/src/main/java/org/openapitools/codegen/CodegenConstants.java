@@ -34,6 +34,12 @@ public class CodegenConstants {
     public static final String API_DOCS = "apiDocs";
 
     public static final String SKIP_FORM_MODEL = "skipFormModel";
+    public static final String PARALLELISM = "parallelism";
+    public static final String BATCH_POST_PROCESS_FILE = "batchPostProcessFile";
+    public static final String POST_PROCESS_FILE_BATCH_SIZE = "postProcessFileBatchSize";
+    public static final String INCREMENTAL_GENERATION = "incrementalGeneration";
+    public static final String PROPERTY_CACHE_DEEP_EQUALITY = "propertyCacheDeepEquality";
+    public static final String SPEC_CACHE_DIR = "specCacheDir";
     /* /end System Properties */
 
     public static final String API_NAME = "apiName";
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Inheritance index of the models of a generation, keyed by model identity, used by {@link DefaultCodegen#updateAllModels(Map)} to let parents
+ * know about their children.
+ * <p>
+ * The ancestors each model is registered with (its parent, then the grandparents up to the first parent having a
+ * discriminator) are computed once, and reused as long as the models and their parents don't change. Linking checks
+ * the existing {@link CodegenModel#permits} and {@link CodegenModel#getChildren() children} through sets instead of
+ * scanning the lists for each child, so hierarchies with thousands of subtypes are linked in linear time.
+ */
+class CodegenModelHierarchy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenModelHierarchy.class);
+
+    private final Map<String, CodegenModel> models;
+    private final Map<CodegenModel, String> parents = new IdentityHashMap<>();
+    private final Map<CodegenModel, List<CodegenModel>> ancestors = new IdentityHashMap<>();
+    private final List<CodegenModel> ordered = new ArrayList<>();
+
+    /**
+     * @param allModels all the models, by model name
+     * @param schemas   the schemas of the 'components/schemas' section, to look up parent discriminators
+     */
+    CodegenModelHierarchy(Map<String, CodegenModel> allModels, Map<String, Schema> schemas) {
+        this.models = new HashMap<>(allModels);
+        for (CodegenModel cm : allModels.values()) {
+            parents.put(cm, cm.getParent());
+            // if a discriminator exists on the parent, don't add this child to the inheritance hierarchy
+            // TODO Determine what to do if the parent discriminator name == the grandparent discriminator name
+            List<CodegenModel> chain = new ArrayList<>();
+            CodegenModel parent = allModels.get(cm.getParent());
+            while (parent != null) {
+                chain.add(parent);
+                Schema parentSchema = schemas.get(parent.schemaName);
+                if (parentSchema == null) {
+                    LOGGER.warn("Failed to look up parent schema: {}", parent.schemaName);
+                    parent = null;
+                } else if (parentSchema.getDiscriminator() == null) {
+                    parent = allModels.get(parent.getParent());
+                } else {
+                    parent = null;
+                }
+            }
+            // the same model may be listed under several names, its ancestors only depend on its parent
+            if (ancestors.putIfAbsent(cm, chain) == null) {
+                ordered.add(cm);
+            }
+        }
+    }
+
+    /**
+     * @param allModels all the models, by model name
+     * @return true if the index was built for the same models, having the same parents
+     */
+    boolean isFor(Map<String, CodegenModel> allModels) {
+        if (allModels.size() != models.size()) {
+            return false;
+        }
+        for (Map.Entry<String, CodegenModel> entry : allModels.entrySet()) {
+            CodegenModel cm = entry.getValue();
+            if (models.get(entry.getKey()) != cm || !parents.containsKey(cm) || !Objects.equals(parents.get(cm), cm.getParent())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds each model to the permits of its parent and to the children of its ancestors, unless already present.
+     */
+    void link() {
+        Map<CodegenModel, Set<String>> permits = new IdentityHashMap<>();
+        Map<CodegenModel, Set<String>> children = new IdentityHashMap<>();
+        for (CodegenModel cm : ordered) {
+            List<CodegenModel> chain = ancestors.get(cm);
+            if (chain.isEmpty()) {
+                continue;
+            }
+
+            CodegenModel parent = chain.get(0);
+            Set<String> parentPermits = permits.computeIfAbsent(parent, p -> new HashSet<>(p.permits));
+            if (!parentPermits.contains(cm.classname) && !parentPermits.contains(cm.getName())) {
+                parent.permits.add(cm.classname);
+                parentPermits.add(cm.classname);
+            }
+
+            for (CodegenModel ancestor : chain) {
+                if (ancestor.getChildren() == null) {
+                    ancestor.setChildren(new ArrayList<>());
+                }
+                Set<String> childrenNames = children.computeIfAbsent(ancestor, a -> a.getChildren().stream()
+                        .map(CodegenModel::getName).collect(Collectors.toCollection(HashSet::new)));
+                if (childrenNames.add(cm.getName())) {
+                    ancestor.getChildren().add(cm);
+                }
+                ancestor.hasChildren = true;
+            }
+        }
+    }
+}
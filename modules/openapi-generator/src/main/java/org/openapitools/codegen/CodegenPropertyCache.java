@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.config.GlobalSettings;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of the properties created by {@link DefaultCodegen#fromProperty(String, Schema, boolean, boolean)}.
+ * <p>
+ * Entries are keyed on the identity of the schema, the property name and flags, and a shallow signature of the schema
+ * (type, format, $ref, sizes of its sub-schema collections...) so that a schema modified after its conversion doesn't
+ * get a stale property. Unlike hashing the schema, building the key doesn't walk the schema tree.
+ * <p>
+ * Equal schemas that aren't the same instance are converted separately, unless the
+ * {@link CodegenConstants#PROPERTY_CACHE_DEEP_EQUALITY} global property is set, in which case lookups missing the
+ * identity cache fall back to comparing whole schema trees.
+ */
+public class CodegenPropertyCache {
+    private final Map<Key, CodegenProperty> byIdentity = new HashMap<>();
+    private final Map<DeepKey, CodegenProperty> byEquality = new HashMap<>();
+    private Boolean deepEquality;
+
+    private long identityHits;
+    private long deepEqualityHits;
+    private long misses;
+
+    /**
+     * Creates the key of a property.
+     *
+     * @param name                             name of the property
+     * @param schema                           property schema
+     * @param required                         true if the property is required
+     * @param schemaIsFromAdditionalProperties true if the property is defined by an additional properties schema
+     * @return The key, to be used for both {@link #get(Key)} and {@link #put(Key, CodegenProperty)}
+     */
+    public Key key(String name, Schema schema, boolean required, boolean schemaIsFromAdditionalProperties) {
+        return new Key(name, schema, required, schemaIsFromAdditionalProperties);
+    }
+
+    /**
+     * @param key The key of the property
+     * @return The cached property, null if not cached
+     */
+    public CodegenProperty get(Key key) {
+        CodegenProperty property = byIdentity.get(key);
+        if (property != null) {
+            identityHits++;
+            return property;
+        }
+        if (isDeepEquality()) {
+            property = byEquality.get(key.deepKey());
+            if (property != null) {
+                deepEqualityHits++;
+                byIdentity.put(key, property);
+                return property;
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * @param key      The key of the property
+     * @param property The property created for the key
+     */
+    public void put(Key key, CodegenProperty property) {
+        byIdentity.put(key, property);
+        if (isDeepEquality()) {
+            byEquality.put(key.deepKey(), property);
+        }
+    }
+
+    private boolean isDeepEquality() {
+        if (deepEquality == null) {
+            deepEquality = Boolean.parseBoolean(GlobalSettings.getProperty(CodegenConstants.PROPERTY_CACHE_DEEP_EQUALITY));
+        }
+        return deepEquality;
+    }
+
+    /**
+     * @return The number of lookups served by schema identity
+     */
+    public long getIdentityHits() {
+        return identityHits;
+    }
+
+    /**
+     * @return The number of lookups served by deep schema equality, always 0 unless enabled
+     */
+    public long getDeepEqualityHits() {
+        return deepEqualityHits;
+    }
+
+    /**
+     * @return The number of lookups not served by the cache
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The ratio of lookups served by the cache, between 0 and 1
+     */
+    public double getHitRate() {
+        long lookups = identityHits + deepEqualityHits + misses;
+        return lookups == 0 ? 0 : (double) (identityHits + deepEqualityHits) / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "fromProperty cache: %d lookups, %.1f%% hits (%d by identity, %d by deep equality)",
+                identityHits + deepEqualityHits + misses, getHitRate() * 100, identityHits, deepEqualityHits);
+    }
+
+    /**
+     * Key of a cached property.
+     */
+    public static final class Key {
+        private final String name;
+        private final Schema schema;
+        private final boolean required;
+        private final boolean schemaIsFromAdditionalProperties;
+        private final int signature;
+
+        private Key(String name, Schema schema, boolean required, boolean schemaIsFromAdditionalProperties) {
+            this.name = name;
+            this.schema = schema;
+            this.required = required;
+            this.schemaIsFromAdditionalProperties = schemaIsFromAdditionalProperties;
+            this.signature = signature(schema);
+        }
+
+        private static int signature(Schema schema) {
+            return Objects.hash(schema.getType(), schema.getTypes(), schema.getFormat(), schema.get$ref(), schema.getNullable(),
+                    size(schema.getProperties()), size(schema.getRequired()), size(schema.getEnum()),
+                    size(schema.getAllOf()), size(schema.getAnyOf()), size(schema.getOneOf()),
+                    System.identityHashCode(schema.getItems()), System.identityHashCode(schema.getAdditionalProperties()));
+        }
+
+        private static int size(Object collection) {
+            if (collection instanceof Map) {
+                return ((Map<?, ?>) collection).size();
+            }
+            return collection instanceof Collection ? ((Collection<?>) collection).size() : -1;
+        }
+
+        private DeepKey deepKey() {
+            return new DeepKey(this);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return schema == that.schema
+                    && signature == that.signature
+                    && required == that.required
+                    && schemaIsFromAdditionalProperties == that.schemaIsFromAdditionalProperties
+                    && Objects.equals(name, that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(schema) + Objects.hashCode(name)) + signature;
+        }
+    }
+
+    /**
+     * Key comparing whole schema trees, only used when deep equality is enabled.
+     */
+    private static final class DeepKey {
+        private final Key key;
+
+        private DeepKey(Key key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DeepKey)) {
+                return false;
+            }
+            Key that = ((DeepKey) o).key;
+            return key.required == that.required
+                    && key.schemaIsFromAdditionalProperties == that.schemaIsFromAdditionalProperties
+                    && Objects.equals(key.name, that.name)
+                    && Objects.equals(key.schema, that.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key.name, key.schema, key.required, key.schemaIsFromAdditionalProperties);
+        }
+    }
+}
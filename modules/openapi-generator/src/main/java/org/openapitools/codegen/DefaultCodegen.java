@@ -17,9 +17,6 @@
 
 package org.openapitools.codegen;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Ticker;
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableMap;
 import com.samskivert.mustache.Mustache;
@@ -68,7 +65,10 @@ import org.openapitools.codegen.templating.MustacheEngineAdapter;
 import org.openapitools.codegen.templating.mustache.*;
 import org.openapitools.codegen.utils.ExamplesUtils;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.NameCache;
 import org.openapitools.codegen.utils.OneOfImplementorAdditionalData;
+import org.openapitools.codegen.utils.PostProcessFileBatcher;
+import org.openapitools.codegen.utils.SchemaGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,7 +80,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -101,9 +100,6 @@ public class DefaultCodegen implements CodegenConfig {
 
     public static FeatureSet DefaultFeatureSet;
 
-    // A cache of sanitized words. The sanitizeName() method is invoked many times with the same
-    // arguments, this cache is used to optimized performance.
-    private static final Cache<SanitizeNameOptions, String> sanitizedNameCache;
     private static final String xSchemaTestExamplesKey = "x-schema-test-examples";
     private static final String xSchemaTestExamplesRefPrefix = "#/components/x-schema-test-examples/";
     protected static Schema falseSchema;
@@ -152,14 +148,6 @@ public class DefaultCodegen implements CodegenConfig {
                         // PROTOBUF and Custom are generator specific
                 )
                 .build();
-
-        int cacheSize = Integer.parseInt(GlobalSettings.getProperty(NAME_CACHE_SIZE_PROPERTY, "500"));
-        int cacheExpiry = Integer.parseInt(GlobalSettings.getProperty(NAME_CACHE_EXPIRY_PROPERTY, "10"));
-        sanitizedNameCache = Caffeine.newBuilder()
-                .maximumSize(cacheSize)
-                .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
-                .ticker(Ticker.systemTicker())
-                .build();
         falseSchema = new Schema();
         falseSchema.setNot(new Schema());
     }
@@ -303,6 +291,8 @@ public class DefaultCodegen implements CodegenConfig {
     // flag to indicate whether to use environment variable to post process file
     protected boolean enablePostProcessFile = false;
     private TemplatingEngineAdapter templatingEngine = new MustacheEngineAdapter();
+
+    private final PostProcessFileBatcher postProcessFileBatcher = new PostProcessFileBatcher();
     // flag to indicate whether to use the utils.OneOfImplementorAdditionalData related logic
     protected boolean useOneOfInterfaces = false;
     // whether or not the oneOf imports machinery should add oneOf interfaces as imports in implementing classes
@@ -663,40 +653,10 @@ public class DefaultCodegen implements CodegenConfig {
         }
 
         // Let parent know about all its children
-        for (Map.Entry<String, CodegenModel> allModelsEntry : allModels.entrySet()) {
-            CodegenModel cm = allModelsEntry.getValue();
-            CodegenModel parent = allModels.get(cm.getParent());
-            if (parent != null) {
-                if (!parent.permits.contains(cm.classname) && parent.permits.stream()
-                        .noneMatch(name -> name.equals(cm.getName()))) {
-                    parent.permits.add(cm.classname);
-                }
-            }
-            // if a discriminator exists on the parent, don't add this child to the inheritance hierarchy
-            // TODO Determine what to do if the parent discriminator name == the grandparent discriminator name
-            while (parent != null) {
-                if (parent.getChildren() == null) {
-                    parent.setChildren(new ArrayList<>());
-                }
-                if (parent.getChildren().stream().map(CodegenModel::getName)
-                        .noneMatch(name -> name.equals(cm.getName()))) {
-                    parent.getChildren().add(cm);
-                }
-
-                parent.hasChildren = true;
-                Schema parentSchema = this.openAPI.getComponents().getSchemas().get(parent.schemaName);
-                if (parentSchema == null) {
-                    LOGGER.warn("Failed to look up parent schema: {}", parent.schemaName);
-                    parent = null;
-                } else {
-                    if (parentSchema.getDiscriminator() == null) {
-                        parent = allModels.get(parent.getParent());
-                    } else {
-                        parent = null;
-                    }
-                }
-            }
+        if (modelHierarchy == null || !modelHierarchy.isFor(allModels)) {
+            modelHierarchy = new CodegenModelHierarchy(allModels, this.openAPI.getComponents().getSchemas());
         }
+        modelHierarchy.link();
 
         // loop through properties of each model to detect self-reference
         // and update mapped models for import
@@ -754,13 +714,13 @@ public class DefaultCodegen implements CodegenConfig {
         final Map<String, List<CodegenProperty>> allVarsDependencyMap = models.entrySet().stream()
                 .collect(Collectors.toMap(Entry::getKey, entry -> getModelDependencies(entry.getValue().getAllVars())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, allVarsDependencyMap));
+        setCircularReferencesOnProperties(allVarsDependencyMap);
 
         // for vars
         final Map<String, List<CodegenProperty>> varsDependencyMap = models.entrySet().stream()
                 .collect(Collectors.toMap(Entry::getKey, entry -> getModelDependencies(entry.getValue().getVars())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, varsDependencyMap));
+        setCircularReferencesOnProperties(varsDependencyMap);
 
         // for oneOf
         final Map<String, List<CodegenProperty>> oneOfDependencyMap = models.entrySet().stream()
@@ -768,7 +728,7 @@ public class DefaultCodegen implements CodegenConfig {
                         (entry.getValue().getComposedSchemas() != null && entry.getValue().getComposedSchemas().getOneOf() != null)
                                 ? entry.getValue().getComposedSchemas().getOneOf() : new ArrayList<CodegenProperty>())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, oneOfDependencyMap));
+        setCircularReferencesOnProperties(oneOfDependencyMap);
     }
 
     private List<CodegenProperty> getModelDependencies(List<CodegenProperty> vars) {
@@ -783,35 +743,21 @@ public class DefaultCodegen implements CodegenConfig {
                 .collect(Collectors.toList());
     }
 
-    private void setCircularReferencesOnProperties(final String root,
-            final Map<String, List<CodegenProperty>> dependencyMap) {
-        dependencyMap.getOrDefault(root, new ArrayList<>())
-                .forEach(prop -> {
-                    final List<String> unvisited =
-                            Collections.singletonList(prop.isContainer ? prop.items.dataType : prop.dataType);
-                    prop.isCircularReference = isCircularReference(root,
-                            new HashSet<>(),
-                            new ArrayList<>(unvisited),
-                            dependencyMap);
-                });
+    private void setCircularReferencesOnProperties(final Map<String, List<CodegenProperty>> dependencyMap) {
+        // a property is circular when its model can be reached back from the property type,
+        // i.e. both are in the same strongly connected component of the dependency graph
+        final Map<String, List<String>> references = dependencyMap.entrySet().stream()
+                .collect(Collectors.toMap(Entry::getKey, entry -> entry.getValue().stream()
+                        .map(this::getDependencyName)
+                        .collect(Collectors.toList())));
+        final SchemaGraph graph = new SchemaGraph(references);
+
+        dependencyMap.forEach((name, properties) -> properties
+                .forEach(prop -> prop.isCircularReference = graph.isCircularReference(name, getDependencyName(prop))));
     }
 
-    private boolean isCircularReference(final String root,
-            final Set<String> visited,
-            final List<String> unvisited,
-            final Map<String, List<CodegenProperty>> dependencyMap) {
-        for (int i = 0; i < unvisited.size(); i++) {
-            final String next = unvisited.get(i);
-            if (!visited.contains(next)) {
-                if (next.equals(root)) {
-                    return true;
-                }
-                dependencyMap.getOrDefault(next, new ArrayList<>())
-                        .forEach(prop -> unvisited.add(prop.isContainer ? prop.items.dataType : prop.dataType));
-                visited.add(next);
-            }
-        }
-        return false;
+    private String getDependencyName(final CodegenProperty prop) {
+        return prop.isContainer ? prop.items.dataType : prop.dataType;
     }
 
     // override with any special post-processing
@@ -989,6 +935,7 @@ public class DefaultCodegen implements CodegenConfig {
             LOGGER.warn(UNSUPPORTED_V310_SPEC_MSG);
         }
         this.openAPI = openAPI;
+        this.modelHierarchy = null;
         // Set global settings such that helper functions in ModelUtils can lookup the value
         // of the CLI option.
         ModelUtils.setDisallowAdditionalPropertiesIfNotPresent(getDisallowAdditionalPropertiesIfNotPresent());
@@ -2655,40 +2602,28 @@ public class DefaultCodegen implements CodegenConfig {
         return camelizedName;
     }
 
-    private static class NamedSchema {
+    /**
+     * Inheritance index of the models, reused by the calls to {@link #updateAllModels(Map)} of a generation
+     */
+    private CodegenModelHierarchy modelHierarchy;
 
-        private NamedSchema(String name, Schema s, boolean required, boolean schemaIsFromAdditionalProperties) {
-            this.name = name;
-            this.schema = s;
-            this.required = required;
-            this.schemaIsFromAdditionalProperties = schemaIsFromAdditionalProperties;
-        }
+    CodegenPropertyCache schemaCodegenPropertyCache = new CodegenPropertyCache();
 
-        private String name;
-        private Schema schema;
-        private boolean required;
-        private boolean schemaIsFromAdditionalProperties;
+    // A cache of the names computed during a generation, e.g. by sanitizeName(), which is invoked many times with the
+    // same arguments. Also used by the StringUtils helpers while the generator runs.
+    private final NameCache nameCache = new NameCache();
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-            NamedSchema that = (NamedSchema) o;
-            return Objects.equals(required, that.required) &&
-                   Objects.equals(name, that.name) &&
-                   Objects.equals(schema, that.schema) &&
-                   Objects.equals(schemaIsFromAdditionalProperties, that.schemaIsFromAdditionalProperties);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(name, schema, required, schemaIsFromAdditionalProperties);
-        }
+    @Override
+    public NameCache getNameCache() {
+        return nameCache;
     }
 
-    Map<NamedSchema, CodegenProperty> schemaCodegenPropertyCache = new HashMap<>();
+    /**
+     * @return the cache of the properties created by {@link #fromProperty(String, Schema, boolean, boolean)}
+     */
+    public CodegenPropertyCache getSchemaCodegenPropertyCache() {
+        return schemaCodegenPropertyCache;
+    }
 
     protected void updateModelForComposedSchema(CodegenModel m, Schema schema, Map<String, Schema> allDefinitions) {
         final Schema composed = schema;
@@ -4007,7 +3942,7 @@ public class DefaultCodegen implements CodegenConfig {
             return null;
         }
         LOGGER.debug("debugging fromProperty for {}: {}", name, p);
-        NamedSchema ns = new NamedSchema(name, p, required, schemaIsFromAdditionalProperties);
+        CodegenPropertyCache.Key ns = schemaCodegenPropertyCache.key(name, p, required, schemaIsFromAdditionalProperties);
         CodegenProperty cpc = schemaCodegenPropertyCache.get(ns);
         if (cpc != null) {
             LOGGER.debug("Cached fromProperty for {} : {} required={}", name, p.getName(), required);
@@ -6721,7 +6656,7 @@ public class DefaultCodegen implements CodegenConfig {
 
         SanitizeNameOptions opts = new SanitizeNameOptions(name, removeCharRegEx, exceptionList);
 
-        return sanitizedNameCache.get(opts, sanitizeNameOptions -> {
+        return nameCache.get(NameCache.SANITIZE_NAME, opts, sanitizeNameOptions -> {
             String modifiable = sanitizeNameOptions.getName();
             List<String> exceptions = sanitizeNameOptions.getExceptions();
             // input[] => input
@@ -8456,6 +8391,11 @@ public class DefaultCodegen implements CodegenConfig {
      * @return Whether the execution passed (true) or failed (false)
      */
     protected boolean executePostProcessor(String[] commandArr) {
+        if (commandArr.length > 1 && Boolean.parseBoolean(GlobalSettings.getProperty(CodegenConstants.BATCH_POST_PROCESS_FILE))) {
+            // the last argument is the file, the command runs later for all files at once, see postProcessBatchedFiles
+            postProcessFileBatcher.add(commandArr);
+            return true;
+        }
         final String command = String.join(" ", commandArr);
         try {
             // we don't use the array variant here, because the command passed in by the user is often not only a single binary
@@ -8486,6 +8426,28 @@ public class DefaultCodegen implements CodegenConfig {
         return false;
     }
 
+    /**
+     * Runs the post-processor invocations deferred by {@link #executePostProcessor(String[])} while the
+     * batchPostProcessFile global property is enabled, passing up to postProcessFileBatchSize files per process
+     * and running at most one process per available processor at a time.
+     */
+    @Override
+    public void postProcessBatchedFiles() {
+        if (postProcessFileBatcher.isEmpty()) {
+            return;
+        }
+        int batchSize = PostProcessFileBatcher.DEFAULT_BATCH_SIZE;
+        String batchSizeProperty = GlobalSettings.getProperty(CodegenConstants.POST_PROCESS_FILE_BATCH_SIZE);
+        if (StringUtils.isNotBlank(batchSizeProperty)) {
+            try {
+                batchSize = Integer.parseInt(batchSizeProperty.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid value for the global property `{}`: {}. Using {}.", CodegenConstants.POST_PROCESS_FILE_BATCH_SIZE, batchSizeProperty, batchSize);
+            }
+        }
+        postProcessFileBatcher.execute(batchSize, Runtime.getRuntime().availableProcessors());
+    }
+
     /**
      * Boolean value indicating the state of the option for post-processing file using environment variables.
      *
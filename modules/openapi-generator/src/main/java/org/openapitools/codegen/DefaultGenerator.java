@@ -55,7 +55,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -67,6 +72,7 @@ import static org.openapitools.codegen.utils.OnceLogger.once;
 @SuppressWarnings("rawtypes")
 public class DefaultGenerator implements Generator {
     private static final String METADATA_DIR = ".openapi-generator";
+    private static final String FINGERPRINTS_METADATA_FILENAME = "FINGERPRINTS";
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
     private final boolean dryRun;
     protected CodegenConfig config;
@@ -87,11 +93,23 @@ public class DefaultGenerator implements Generator {
     private String basePathWithoutHost;
     private String contextPath;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    /**
+     * Fingerprints of the rendered files, only set when the incrementalGeneration global property is enabled.
+     */
+    private RenderFingerprintCache fingerprints = null;
     /**
      * Retrieves an instance to the configured template processor, available after user-defined options are
      * applied via
      */
     @Getter protected TemplateProcessor templateProcessor = null;
+    /**
+     * Per-phase timing of the generation, taken from {@link ClientOptInput#getGenerationMetrics()} when set.
+     */
+    @Getter private GenerationMetrics generationMetrics = new GenerationMetrics();
+    /**
+     * Destination of the generated files instead of the output directory, taken from {@link ClientOptInput#getOutputSink()}.
+     */
+    private OutputSink outputSink = null;
 
     private List<TemplateDefinition> userDefinedTemplates = new ArrayList<>();
     private String generatorCheck = "spring";
@@ -118,6 +136,8 @@ public class DefaultGenerator implements Generator {
         if (userFiles != null) {
             this.userDefinedTemplates = Collections.unmodifiableList(userFiles);
         }
+        this.generationMetrics = opts.getGenerationMetrics() != null ? opts.getGenerationMetrics() : new GenerationMetrics();
+        this.outputSink = this.dryRun ? null : opts.getOutputSink();
 
         TemplateManagerOptions templateManagerOptions = new TemplateManagerOptions(this.config.isEnableMinimalUpdate(), this.config.isSkipOverwrite());
 
@@ -133,11 +153,13 @@ public class DefaultGenerator implements Generator {
 
             TemplatePathLocator commonTemplateLocator = new CommonTemplateContentLocator();
             TemplatePathLocator generatorTemplateLocator = new GeneratorTemplateContentLocator(this.config);
-            this.templateProcessor = new TemplateManager(
+            TemplateManager templateManager = new TemplateManager(
                     templateManagerOptions,
                     templatingEngine,
                     new TemplatePathLocator[]{generatorTemplateLocator, commonTemplateLocator}
             );
+            templateManager.setGenerationMetrics(generationMetrics);
+            this.templateProcessor = templateManager;
         }
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
@@ -256,7 +278,7 @@ public class DefaultGenerator implements Generator {
         }
 
         // normalize the spec
-        try {
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.NORMALIZE)) {
             if (config.getUseOpenapiNormalizer()) {
                 SemVer version = new SemVer(openAPI.getOpenapi());
                 if (version.atLeast("3.1.0")) {
@@ -276,7 +298,9 @@ public class DefaultGenerator implements Generator {
             inlineModelResolver.setInlineSchemaNameMapping(config.inlineSchemaNameMapping());
             inlineModelResolver.setInlineSchemaOptions(config.inlineSchemaOption());
 
-            inlineModelResolver.flatten(openAPI);
+            try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.INLINE_MODEL_RESOLVER)) {
+                inlineModelResolver.flatten(openAPI);
+            }
         }
 
         config.preprocessOpenAPI(openAPI);
@@ -392,9 +416,7 @@ public class DefaultGenerator implements Generator {
                     File written = processTemplateToFile(models, templateName, filename, generateModelTests, CodegenConstants.MODEL_TESTS, config.modelTestFileFolder());
                     if (written != null) {
                         files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "model-test");
-                        }
+                        postProcessFile(written, "model-test");
                     }
                 }
             } else if (dryRun) {
@@ -413,9 +435,7 @@ public class DefaultGenerator implements Generator {
             File written = processTemplateToFile(models, templateName, filename, generateModelDocumentation, CodegenConstants.MODEL_DOCS);
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model-doc");
-                }
+                postProcessFile(written, "model-doc");
             }
         }
     }
@@ -433,18 +453,16 @@ public class DefaultGenerator implements Generator {
             }
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model");
-                }
+                postProcessFile(written, "model");
             }
         }
     }
 
-    void generateModels(List<File> files, List<ModelMap> allModels, List<String> unusedModels, List<ModelMap> aliasModels) {
-        generateModels(files, allModels, unusedModels, aliasModels, new ArrayList<>(), DefaultGenerator.this::modelKeys);
+    void generateModels(List<File> files, List<ModelMap> allModels, Collection<String> unusedModels, List<ModelMap> aliasModels) {
+        generateModels(files, allModels, new HashSet<>(unusedModels), aliasModels, new HashSet<>(), DefaultGenerator.this::modelKeys);
     }
 
-    void generateModels(List<File> files, List<ModelMap> allModels, List<String> unusedModels, List<ModelMap> aliasModels, List<String> processedModels, Supplier<Set<String>> modelKeysSupplier) {
+    void generateModels(List<File> files, List<ModelMap> allModels, Set<String> unusedModels, List<ModelMap> aliasModels, Set<String> processedModels, Supplier<Set<String>> modelKeysSupplier) {
         if (!generateModels) {
             // TODO: Process these anyway and add to dryRun info
             LOGGER.info("Skipping generation of models.");
@@ -465,6 +483,7 @@ public class DefaultGenerator implements Generator {
 
         // process models only
         for (String name : modelKeys) {
+            checkInterrupted();
             processedModels.add(name);
             try {
                 //don't generate models that have an import mapping
@@ -511,7 +530,10 @@ public class DefaultGenerator implements Generator {
 
                 Map<String, Schema> schemaMap = new HashMap<>();
                 schemaMap.put(name, schema);
-                ModelsMap models = processModels(config, schemaMap);
+                ModelsMap models;
+                try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.MODEL_CONVERSION)) {
+                    models = processModels(config, schemaMap);
+                }
                 models.put("classname", config.toModelName(name));
                 models.putAll(config.additionalProperties());
                 allProcessedModels.put(name, models);
@@ -520,11 +542,13 @@ public class DefaultGenerator implements Generator {
             }
         }
 
-        // loop through all models to update children models, isSelfReference, isCircularReference, etc
-        allProcessedModels = config.updateAllModels(allProcessedModels);
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.MODEL_POST_PROCESSING)) {
+            // loop through all models to update children models, isSelfReference, isCircularReference, etc
+            allProcessedModels = config.updateAllModels(allProcessedModels);
 
-        // post process all processed models
-        allProcessedModels = config.postProcessAllModels(allProcessedModels);
+            // post process all processed models
+            allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        }
 
         if (generateRecursiveDependentModels) {
             for (ModelsMap modelsMap : allProcessedModels.values()) {
@@ -545,44 +569,50 @@ public class DefaultGenerator implements Generator {
         }
 
         // generate files based on processed models
+        List<Callable<List<File>>> renderTasks = new ArrayList<>();
         for (String modelName : allProcessedModels.keySet()) {
+            checkInterrupted();
             ModelsMap models = allProcessedModels.get(modelName);
             models.put("modelPackage", config.modelPackage());
-            try {
-                //don't generate models that have a schema mapping
-                if (config.schemaMapping().containsKey(modelName)) {
-                    continue;
-                }
+            //don't generate models that have a schema mapping
+            if (config.schemaMapping().containsKey(modelName)) {
+                continue;
+            }
 
-                // TODO revise below as we've already performed unaliasing so that the isAlias check may be removed
-                List<ModelMap> modelList = models.getModels();
-                if (modelList != null && !modelList.isEmpty()) {
-                    ModelMap modelTemplate = modelList.get(0);
-                    if (modelTemplate != null && modelTemplate.getModel() != null) {
-                        CodegenModel m = modelTemplate.getModel();
-                        if (m.isAlias) {
-                            // alias to number, string, enum, etc, which should not be generated as model
-                            // but aliases are still used to dereference models in some languages (such as in html2).
-                            aliasModels.add(modelTemplate);  // Store aliases in the separate list.
-                            continue;  // Don't create user-defined classes for aliases
-                        }
+            // TODO revise below as we've already performed unaliasing so that the isAlias check may be removed
+            List<ModelMap> modelList = models.getModels();
+            if (modelList != null && !modelList.isEmpty()) {
+                ModelMap modelTemplate = modelList.get(0);
+                if (modelTemplate != null && modelTemplate.getModel() != null) {
+                    CodegenModel m = modelTemplate.getModel();
+                    if (m.isAlias) {
+                        // alias to number, string, enum, etc, which should not be generated as model
+                        // but aliases are still used to dereference models in some languages (such as in html2).
+                        aliasModels.add(modelTemplate);  // Store aliases in the separate list.
+                        continue;  // Don't create user-defined classes for aliases
                     }
-                    allModels.add(modelTemplate);
                 }
+                allModels.add(modelTemplate);
+            }
 
-                // to generate model files
-                generateModel(files, models, modelName);
-
-                // to generate model test files
-                generateModelTests(files, models, modelName);
+            renderTasks.add(() -> {
+                List<File> written = new ArrayList<>();
+                try {
+                    // to generate model files
+                    generateModel(written, models, modelName);
 
-                // to generate model documentation files
-                generateModelDocumentation(files, models, modelName);
+                    // to generate model test files
+                    generateModelTests(written, models, modelName);
 
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate model '" + modelName + "'", e);
-            }
+                    // to generate model documentation files
+                    generateModelDocumentation(written, models, modelName);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate model '" + modelName + "'", e);
+                }
+                return written;
+            });
         }
+        render(files, renderTasks);
         if (GlobalSettings.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
@@ -592,7 +622,7 @@ public class DefaultGenerator implements Generator {
     /**
      * this method guesses the schema type of in parent model used variable and if the schema type is available it let the generate the model for the type of this variable
      */
-    private void generateModelsForVariable(List<File> files, List<ModelMap> allModels, List<String> unusedModels, List<ModelMap> aliasModels, List<String> processedModels, CodegenProperty variable) {
+    private void generateModelsForVariable(List<File> files, List<ModelMap> allModels, Set<String> unusedModels, List<ModelMap> aliasModels, Set<String> processedModels, CodegenProperty variable) {
         if (variable == null) {
             return;
         }
@@ -643,6 +673,124 @@ public class DefaultGenerator implements Generator {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * Returns the number of threads used to render templates, as configured by the {@code parallelism} global property.
+     * Defaults to 1 (serial rendering).
+     */
+    private int getParallelism() {
+        String parallelism = GlobalSettings.getProperty(CodegenConstants.PARALLELISM);
+        if (parallelism == null) {
+            parallelism = generatorPropertyDefaults.get(CodegenConstants.PARALLELISM);
+        }
+        if (StringUtils.isBlank(parallelism)) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(parallelism.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value for the global property `{}`: {}. Rendering serially.", CodegenConstants.PARALLELISM, parallelism);
+            return 1;
+        }
+    }
+
+    /**
+     * Loads the fingerprints of the previous generation when the {@code incrementalGeneration} global property is enabled.
+     * Every setting affecting all files (generator, version, library, templates) is part of the fingerprints, so changing
+     * any of them regenerates everything.
+     */
+    private void configureIncrementalGeneration() {
+        String incremental = GlobalSettings.getProperty(CodegenConstants.INCREMENTAL_GENERATION);
+        if (incremental == null) {
+            incremental = generatorPropertyDefaults.get(CodegenConstants.INCREMENTAL_GENERATION);
+        }
+        // the fingerprints are checked against the files of the output directory
+        if (dryRun || outputSink != null || !Boolean.parseBoolean(incremental)) {
+            fingerprints = null;
+            return;
+        }
+
+        String runFingerprint = String.join("|",
+                ImplementationVersion.read(),
+                config.getName(),
+                config.getClass().getName(),
+                String.valueOf(config.getLibrary()),
+                String.valueOf(config.templateDir()),
+                RenderFingerprintCache.fingerprintDirectory(config.templateDir()),
+                String.valueOf(userDefinedTemplates));
+        Path metadataFile = java.nio.file.Paths.get(config.outputFolder(), METADATA_DIR, FINGERPRINTS_METADATA_FILENAME);
+        fingerprints = new RenderFingerprintCache(metadataFile, java.nio.file.Paths.get(config.outputFolder()), runFingerprint);
+    }
+
+    /**
+     * Runs the file post-processor on a written file, unless it was skipped as unchanged by the incremental generation
+     * or written to an output sink.
+     *
+     * @param file     The written file
+     * @param fileType The type of the file, passed to the post-processor
+     */
+    private void postProcessFile(File file, String fileType) {
+        if (config.isEnablePostProcessFile() && !dryRun && outputSink == null && (fingerprints == null || !fingerprints.isUnchanged(file))) {
+            try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.POST_PROCESS)) {
+                config.postProcessFile(file, fileType);
+            }
+        }
+    }
+
+    /**
+     * Runs the render tasks, concurrently when the {@code parallelism} global property is greater than 1.
+     * The files written by each task are added to {@code files} in task order, so that they (and the FILES metadata
+     * derived from them) are listed in the same order as in a serial run.
+     *
+     * @param files The list tracking generated files
+     * @param tasks The render tasks, each returning the files it has written
+     */
+    private void render(List<File> files, List<Callable<List<File>>> tasks) {
+        int parallelism = Math.min(getParallelism(), tasks.size());
+        if (parallelism <= 1) {
+            for (Callable<List<File>> task : tasks) {
+                try {
+                    files.addAll(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<List<File>>> results = new ArrayList<>(tasks.size());
+            for (Callable<List<File>> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            for (Future<List<File>> result : results) {
+                files.addAll(result.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering templates", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Stops the generation once its thread is interrupted, e.g. by a caller giving up on it. Checked between models,
+     * tags and phases, the interruption staying flagged for the caller.
+     */
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RuntimeException("Generation interrupted", new InterruptedException());
+        }
+    }
+
     private Set<String> modelKeys() {
         final Map<String, Schema> schemas = ModelUtils.getSchemas(this.openAPI);
         if (schemas == null) {
@@ -672,7 +820,10 @@ public class DefaultGenerator implements Generator {
             LOGGER.info("Skipping generation of APIs.");
             return;
         }
-        Map<String, List<CodegenOperation>> paths = processPaths(this.openAPI.getPaths());
+        Map<String, List<CodegenOperation>> paths;
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.OPERATION_CONVERSION)) {
+            paths = processPaths(this.openAPI.getPaths());
+        }
         Set<String> apisToGenerate = getPropertyAsSet(CodegenConstants.APIS);
         if (apisToGenerate != null && !apisToGenerate.isEmpty()) {
             Map<String, List<CodegenOperation>> updatedPaths = new TreeMap<>();
@@ -683,14 +834,23 @@ public class DefaultGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        // rendered in parallel once all the tags are processed, or else right after processing each tag. A generator
+        // keeping state across tags in its fields or additional properties may therefore render differently in parallel,
+        // see the parallelism global property in docs/customization.md
+        boolean renderInParallel = getParallelism() > 1;
+        List<Callable<List<File>>> renderTasks = new ArrayList<>();
         for (String tag : paths.keySet()) {
+            checkInterrupted();
             try {
                 List<CodegenOperation> ops = paths.get(tag);
                 if (!this.config.isSkipSortingOperations()) {
                     // sort operations by operationId
                     ops.sort((one, another) -> ObjectUtils.compare(one.operationId, another.operationId));
                 }
-                OperationsMap operation = processOperations(config, tag, ops, allModels);
+                OperationsMap operation;
+                try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.OPERATION_CONVERSION)) {
+                    operation = processOperations(config, tag, ops, allModels);
+                }
                 URL url = URLPathUtils.getServerURL(openAPI, config.serverVariableOverrides());
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", removeTrailingSlash(config.encodePath(url.getPath())));
@@ -760,67 +920,16 @@ public class DefaultGenerator implements Generator {
 
                 addAuthenticationSwitches(operation);
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    File written = null;
-                    if (config.templateOutputDirs().containsKey(templateName)) {
-                        String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
-                        String filename = config.apiFilename(templateName, tag, outputDir);
-                        // do not overwrite apiController file for spring server
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS, outputDir);
-                        } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
-                        }
-                    } else {
-                        String filename = config.apiFilename(templateName, tag);
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS);
-                        } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
-                        }
-                    }
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api");
-                        }
-                    }
-                }
-
-                // to generate api test files
-                for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                    String filename = config.apiTestFilename(templateName, tag);
-                    File apiTestFile = new File(filename);
-                    // do not overwrite test file that already exists
-                    if (apiTestFile.exists()) {
-                        this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
-                    } else {
-                        File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile() && !dryRun) {
-                                config.postProcessFile(written, "api-test");
-                            }
-                        }
-                    }
-                }
-
-                // to generate api documentation files
-                for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                    String filename = config.apiDocFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api-doc");
-                        }
-                    }
+                if (renderInParallel) {
+                    renderTasks.add(() -> generateApiFiles(operation, tag, generateApis, CodegenConstants.APIS));
+                } else {
+                    files.addAll(generateApiFiles(operation, tag, generateApis, CodegenConstants.APIS));
                 }
-
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
+        render(files, renderTasks);
         if (GlobalSettings.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
@@ -834,7 +943,10 @@ public class DefaultGenerator implements Generator {
             LOGGER.info("Skipping generation of Webhooks.");
             return;
         }
-        Map<String, List<CodegenOperation>> webhooks = processWebhooks(this.openAPI.getWebhooks());
+        Map<String, List<CodegenOperation>> webhooks;
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.OPERATION_CONVERSION)) {
+            webhooks = processWebhooks(this.openAPI.getWebhooks());
+        }
         Set<String> webhooksToGenerate = getPropertyAsSet(CodegenConstants.WEBHOOKS);
         if (webhooksToGenerate != null && !webhooksToGenerate.isEmpty()) {
             Map<String, List<CodegenOperation>> Webhooks = new TreeMap<>();
@@ -845,11 +957,18 @@ public class DefaultGenerator implements Generator {
             }
             webhooks = Webhooks;
         }
+        // see generateApis
+        boolean renderInParallel = getParallelism() > 1;
+        List<Callable<List<File>>> renderTasks = new ArrayList<>();
         for (String tag : webhooks.keySet()) {
+            checkInterrupted();
             try {
                 List<CodegenOperation> wks = webhooks.get(tag);
                 wks.sort((one, another) -> ObjectUtils.compare(one.operationId, another.operationId));
-                WebhooksMap operation = processWebhooks(config, tag, wks, allModels);
+                WebhooksMap operation;
+                try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.OPERATION_CONVERSION)) {
+                    operation = processWebhooks(config, tag, wks, allModels);
+                }
                 URL url = URLPathUtils.getServerURL(openAPI, config.serverVariableOverrides());
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", removeTrailingSlash(config.encodePath(url.getPath())));
@@ -919,72 +1038,89 @@ public class DefaultGenerator implements Generator {
 
                 addAuthenticationSwitches(operation);
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    File written = null;
-                    if (config.templateOutputDirs().containsKey(templateName)) {
-                        String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
-                        String filename = config.apiFilename(templateName, tag, outputDir);
-                        // do not overwrite apiController file for spring server
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS, outputDir);
-                        } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
-                        }
-                    } else {
-                        String filename = config.apiFilename(templateName, tag);
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS);
-                        } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
-                        }
-                    }
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api");
-                        }
-                    }
+                if (renderInParallel) {
+                    renderTasks.add(() -> generateApiFiles(operation, tag, generateWebhooks, CodegenConstants.WEBHOOKS));
+                } else {
+                    files.addAll(generateApiFiles(operation, tag, generateWebhooks, CodegenConstants.WEBHOOKS));
                 }
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+            }
+        }
+        render(files, renderTasks);
+        if (GlobalSettings.getProperty("debugOperations") != null) {
+            LOGGER.info("############ Operation info ############");
+            Json.prettyPrint(allWebhooks);
+        }
+
+    }
 
-                // to generate api test files
-                for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                    String filename = config.apiTestFilename(templateName, tag);
-                    File apiTestFile = new File(filename);
-                    // do not overwrite test file that already exists
-                    if (apiTestFile.exists()) {
-                        this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
+    /**
+     * Renders the api, api-test and api-doc templates of a single tag.
+     *
+     * @param operation       The processed operations bundle of the tag
+     * @param tag             The tag
+     * @param shouldGenerate  Whether api files should be generated
+     * @param skippedByOption The option name reported when api files are skipped
+     * @return The files written for the tag, in template order
+     */
+    private List<File> generateApiFiles(Map<String, Object> operation, String tag, boolean shouldGenerate, String skippedByOption) {
+        List<File> tagFiles = new ArrayList<>();
+        try {
+            for (String templateName : config.apiTemplateFiles().keySet()) {
+                File written = null;
+                if (config.templateOutputDirs().containsKey(templateName)) {
+                    String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
+                    String filename = config.apiFilename(templateName, tag, outputDir);
+                    // do not overwrite apiController file for spring server
+                    if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
+                        written = processTemplateToFile(operation, templateName, filename, shouldGenerate, skippedByOption, outputDir);
                     } else {
-                        File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile() && !dryRun) {
-                                config.postProcessFile(written, "api-test");
-                            }
-                        }
+                        LOGGER.info("Implementation file {} is not overwritten", filename);
                     }
+                } else {
+                    String filename = config.apiFilename(templateName, tag);
+                    if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
+                        written = processTemplateToFile(operation, templateName, filename, shouldGenerate, skippedByOption);
+                    } else {
+                        LOGGER.info("Implementation file {} is not overwritten", filename);
+                    }
+                }
+                if (written != null) {
+                    tagFiles.add(written);
+                    postProcessFile(written, "api");
                 }
+            }
 
-                // to generate api documentation files
-                for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                    String filename = config.apiDocFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
+            // to generate api test files
+            for (String templateName : config.apiTestTemplateFiles().keySet()) {
+                String filename = config.apiTestFilename(templateName, tag);
+                File apiTestFile = new File(filename);
+                // do not overwrite test file that already exists
+                if (apiTestFile.exists()) {
+                    this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
+                } else {
+                    File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
                     if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api-doc");
-                        }
+                        tagFiles.add(written);
+                        postProcessFile(written, "api-test");
                     }
                 }
+            }
 
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+            // to generate api documentation files
+            for (String templateName : config.apiDocTemplateFiles().keySet()) {
+                String filename = config.apiDocFilename(templateName, tag);
+                File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
+                if (written != null) {
+                    tagFiles.add(written);
+                    postProcessFile(written, "api-doc");
+                }
             }
+        } catch (Exception e) {
+            throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
         }
-        if (GlobalSettings.getProperty("debugOperations") != null) {
-            LOGGER.info("############ Operation info ############");
-            Json.prettyPrint(allWebhooks);
-        }
-
+        return tagFiles;
     }
 
     // checking if apiController file is already existed for spring generator
@@ -1054,6 +1190,10 @@ public class DefaultGenerator implements Generator {
                 fileWriter.write("\n");
             }
             fileWriter.close();
+            if (outputSink != null) {
+                // still written to the output directory, which the ignore processor reads the rules from
+                this.templateProcessor.writeToFile(ignoreFileNameTarget, Files.readAllBytes(ignoreFile.toPath()));
+            }
             // re-create ignore processor based on the newly-created .openapi-generator-ignore
             this.ignoreProcessor = new CodegenIgnoreProcessor(ignoreFile);
         } catch (IOException e) {
@@ -1082,7 +1222,7 @@ public class DefaultGenerator implements Generator {
 
                 if (!of.isDirectory()) {
                     // check that its not a dryrun and the files in the directory aren't ignored before we make the directory
-                    if (!dryRun && ignoreProcessor.allowsFile(new File(outputFilename)) && !of.mkdirs()) {
+                    if (!dryRun && outputSink == null && ignoreProcessor.allowsFile(new File(outputFilename)) && !of.mkdirs()) {
                         once(LOGGER).debug("Output directory {} not created. It {}.", outputFolder, of.exists() ? "already exists." : "may not have appropriate permissions.");
                     }
                 }
@@ -1096,9 +1236,7 @@ public class DefaultGenerator implements Generator {
                 File written = processTemplateToFile(bundle, support.getTemplateFile(), outputFilename, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
                 if (written != null) {
                     files.add(written);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "supporting-file");
-                    }
+                    postProcessFile(written, "supporting-file");
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
@@ -1121,9 +1259,7 @@ public class DefaultGenerator implements Generator {
                     File written = processTemplateToFile(bundle, openapiGeneratorIgnore, ignoreFileNameTarget, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
                     if (written != null) {
                         files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "openapi-generator-ignore");
-                        }
+                        postProcessFile(written, "openapi-generator-ignore");
                     }
                 } catch (Exception e) {
                     throw new RuntimeException("Could not generate supporting file '" + ignoreFileNameTarget + "'", e);
@@ -1249,6 +1385,21 @@ public class DefaultGenerator implements Generator {
 
     @Override
     public List<File> generate() {
+        NameCache nameCache = config == null ? null : config.getNameCache();
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.GENERATE);
+             NameCache.Activation activation = nameCache == null ? null : nameCache.activate()) {
+            return generateFiles();
+        } finally {
+            if (nameCache != null) {
+                LOGGER.debug("{}", nameCache);
+                generationMetrics.count(GenerationMetrics.NAME_CACHE_HITS, nameCache.getHits());
+                generationMetrics.count(GenerationMetrics.NAME_CACHE_MISSES, nameCache.getMisses());
+                nameCache.clear();
+            }
+        }
+    }
+
+    private List<File> generateFiles() {
         if (openAPI == null) {
             throw new RuntimeException("Issues with the OpenAPI input. Possible causes: invalid/missing spec, malformed JSON/YAML files, etc.");
         }
@@ -1277,29 +1428,55 @@ public class DefaultGenerator implements Generator {
         configureGeneratorProperties();
         configureOpenAPIInfo();
 
-        config.processOpenAPI(openAPI);
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.PROCESS_OPENAPI)) {
+            config.processOpenAPI(openAPI);
+        }
 
         processUserDefinedTemplates();
 
+        configureIncrementalGeneration();
+
+        if (outputSink != null) {
+            // the output directory is only known once the generator options are processed
+            ((TemplateManager) this.templateProcessor).setOutputSink(outputSink, config.getOutputDir());
+        }
+
         // generate .openapi-generator-ignore if the option openapiGeneratorIgnoreFile is enabled
         generateOpenapiGeneratorIgnoreFile();
 
         List<File> files = new ArrayList<>();
         // models
-        List<String> filteredSchemas = ModelUtils.getSchemasUsedOnlyInFormParam(openAPI);
+        List<String> filteredSchemas = SchemaUsageIndex.of(openAPI).getSchemasUsedOnlyInFormParam();
         List<ModelMap> allModels = new ArrayList<>();
         List<ModelMap> aliasModels = new ArrayList<>();
         generateModels(files, allModels, filteredSchemas, aliasModels);
         // apis
         List<OperationsMap> allOperations = new ArrayList<>();
+        checkInterrupted();
         generateApis(files, allOperations, allModels);
         // webhooks
         List<WebhooksMap> allWebhooks = new ArrayList<>();
+        checkInterrupted();
         generateWebhooks(files, allWebhooks, allModels);
         // supporting files
+        checkInterrupted();
         Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels, aliasModels, allWebhooks);
         generateSupportingFiles(files, bundle);
 
+        Map<String, List<String>> pathCollisions = outputPaths.getCollisions();
+        if (!pathCollisions.isEmpty()) {
+            LOGGER.warn("{} generated file path(s) only differ by case and will overwrite each other on case-insensitive file systems: {}",
+                    pathCollisions.size(), pathCollisions.values());
+        }
+
+        if (config instanceof DefaultCodegen) {
+            CodegenPropertyCache propertyCache = ((DefaultCodegen) config).getSchemaCodegenPropertyCache();
+            LOGGER.debug("{}", propertyCache);
+            generationMetrics.count(GenerationMetrics.PROPERTY_CACHE_IDENTITY_HITS, propertyCache.getIdentityHits());
+            generationMetrics.count(GenerationMetrics.PROPERTY_CACHE_DEEP_EQUALITY_HITS, propertyCache.getDeepEqualityHits());
+            generationMetrics.count(GenerationMetrics.PROPERTY_CACHE_MISSES, propertyCache.getMisses());
+        }
+
         if (dryRun) {
             boolean verbose = Boolean.parseBoolean(GlobalSettings.getProperty("verbose"));
             StringBuilder sb = new StringBuilder();
@@ -1344,8 +1521,23 @@ public class DefaultGenerator implements Generator {
             }
         }
 
+        // run the external post-processors deferred by the batchPostProcessFile option
+        if (config.isEnablePostProcessFile() && !dryRun) {
+            try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.POST_PROCESS)) {
+                config.postProcessBatchedFiles();
+            }
+        }
+
+        // record the fingerprints once files are in their final (post-processed) state
+        if (fingerprints != null) {
+            LOGGER.info("Incremental generation: {} unchanged file(s) skipped.", fingerprints.getUnchangedCount());
+            fingerprints.save();
+        }
+
         // post-process
-        config.postProcess();
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.POST_PROCESS)) {
+            config.postProcess();
+        }
 
         // reset GlobalSettings, so that the running thread can be reused for another generator-run
         GlobalSettings.reset();
@@ -1430,7 +1622,14 @@ public class DefaultGenerator implements Generator {
         return processTemplateToFile(templateData, templateName, outputFilename, shouldGenerate, skippedByOption, this.config.getOutputDir());
     }
 
-    private final Set<String> seenFiles = new HashSet<>();
+    private final OutputPathRegistry outputPaths = new OutputPathRegistry();
+
+    /**
+     * @return The paths of the files generated so far, used to detect duplicate paths
+     */
+    public OutputPathRegistry getOutputPathRegistry() {
+        return outputPaths;
+    }
 
     private File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename, boolean shouldGenerate, String skippedByOption, String intendedOutputDir) throws IOException {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
@@ -1443,11 +1642,21 @@ public class DefaultGenerator implements Generator {
                     throw new RuntimeException(String.format(Locale.ROOT, "Target files must be generated within the output directory; absoluteTarget=%s outDir=%s", absoluteTarget, outDir));
                 }
 
-                if (seenFiles.stream().filter(f -> f.toLowerCase(Locale.ROOT).equals(absoluteTarget.toString().toLowerCase(Locale.ROOT))).findAny().isPresent()) {
+                if (outputPaths.register(absoluteTarget)) {
                     LOGGER.warn("Duplicate file path detected. Not all operating systems can handle case sensitive file paths. path={}", absoluteTarget.toString());
                 }
-                seenFiles.add(absoluteTarget.toString());
-                return this.templateProcessor.write(templateData, templateName, target);
+
+                String fingerprint = fingerprints == null ? null : fingerprints.fingerprint(templateData, templateName, target);
+                if (fingerprint != null && fingerprints.isUpToDate(target, fingerprint)) {
+                    this.templateProcessor.skip(target.toPath(), "Unchanged since the previous generation.");
+                    // still returned, so that the file is listed in the FILES metadata
+                    return target;
+                }
+                File written = this.templateProcessor.write(templateData, templateName, target);
+                if (fingerprint != null && written != null) {
+                    fingerprints.record(written, fingerprint);
+                }
+                return written;
             } else {
                 this.templateProcessor.skip(target.toPath(), String.format(Locale.ROOT, "Skipped by %s options supplied by user.", skippedByOption));
                 return null;
@@ -1940,9 +2149,7 @@ public class DefaultGenerator implements Generator {
                 File written = this.templateProcessor.writeToFile(versionMetadata, (ImplementationVersion.read() + "\n").getBytes(StandardCharsets.UTF_8));
                 if (written != null) {
                     files.add(versionMetadataFile);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "openapi-generator-version");
-                    }
+                    postProcessFile(written, "openapi-generator-version");
                 }
             } catch (IOException e) {
                 throw new RuntimeException("Could not generate supporting file '" + versionMetadata + "'", e);
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records where generation time goes: wall time (and optionally bytes allocated by the measuring thread) per phase
+ * of the generation, and per template for rendering.
+ * <p>
+ * Phases run on several threads (e.g. rendering with the {@code parallelism} global property) are cumulative,
+ * so their total may exceed the wall time of the whole generation.
+ */
+public class GenerationMetrics {
+    /** The whole {@link DefaultGenerator#generate()} call. */
+    public static final String GENERATE = "generate";
+    /** Reading, parsing and validating the input spec. */
+    public static final String PARSE = "parse";
+    /** {@link OpenAPINormalizer} rules. */
+    public static final String NORMALIZE = "normalize";
+    /** {@link InlineModelResolver} flattening. */
+    public static final String INLINE_MODEL_RESOLVER = "inlineModelResolver";
+    /** {@link CodegenConfig#processOpenAPI(io.swagger.v3.oas.models.OpenAPI)}. */
+    public static final String PROCESS_OPENAPI = "processOpenAPI";
+    /** Conversion of schemas to {@link CodegenModel}. */
+    public static final String MODEL_CONVERSION = "modelConversion";
+    /** {@link CodegenConfig#updateAllModels} and {@link CodegenConfig#postProcessAllModels}. */
+    public static final String MODEL_POST_PROCESSING = "modelPostProcessing";
+    /** Conversion of operations to {@link CodegenOperation}. */
+    public static final String OPERATION_CONVERSION = "operationConversion";
+    /** Template rendering, also aggregated per template in {@link #getTemplates()}. */
+    public static final String RENDER = "render";
+    /** Writing generated files. */
+    public static final String WRITE = "write";
+    /** File post-processors and {@link CodegenConfig#postProcess()}. */
+    public static final String POST_PROCESS = "postProcess";
+
+    /** {@link CodegenPropertyCache} lookups served by schema identity. */
+    public static final String PROPERTY_CACHE_IDENTITY_HITS = "propertyCache.identityHits";
+    /** {@link CodegenPropertyCache} lookups served by deep schema equality. */
+    public static final String PROPERTY_CACHE_DEEP_EQUALITY_HITS = "propertyCache.deepEqualityHits";
+    /** {@link CodegenPropertyCache} lookups not served by the cache. */
+    public static final String PROPERTY_CACHE_MISSES = "propertyCache.misses";
+    /** {@link org.openapitools.codegen.utils.NameCache} lookups served by the cache. */
+    public static final String NAME_CACHE_HITS = "nameCache.hits";
+    /** {@link org.openapitools.codegen.utils.NameCache} lookups which computed the name. */
+    public static final String NAME_CACHE_MISSES = "nameCache.misses";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    /**
+     * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}, looked up by name as it isn't part of the
+     * Java SE API, or null when not supported by the JVM.
+     */
+    private static final Method THREAD_ALLOCATED_BYTES = findThreadAllocatedBytesMethod();
+
+    /**
+     * Whether bytes allocated by the measuring thread are recorded, when supported by the JVM.
+     */
+    @Getter private final boolean trackAllocations;
+    private final Map<String, Stat> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, Stat> templates = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public GenerationMetrics() {
+        this(false);
+    }
+
+    /**
+     * @param trackAllocations true to record allocated bytes in addition to wall time, ignored if not supported by the JVM
+     */
+    public GenerationMetrics(boolean trackAllocations) {
+        this.trackAllocations = trackAllocations && THREAD_ALLOCATED_BYTES != null;
+    }
+
+    private static Method findThreadAllocatedBytesMethod() {
+        try {
+            Class<?> extension = Class.forName("com.sun.management.ThreadMXBean");
+            if (extension.isInstance(THREAD_MX_BEAN)
+                    && Boolean.TRUE.equals(extension.getMethod("isThreadAllocatedMemorySupported").invoke(THREAD_MX_BEAN))
+                    && Boolean.TRUE.equals(extension.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREAD_MX_BEAN))) {
+                return extension.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // not a HotSpot-based JVM, allocations can't be tracked
+        }
+        return null;
+    }
+
+    /**
+     * Aggregated measurements of a phase or template.
+     */
+    public static class Stat {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private void add(long elapsedNanos, long bytes) {
+            count.increment();
+            nanos.add(elapsedNanos);
+            allocatedBytes.add(bytes);
+        }
+
+        /**
+         * @return The number of measurements
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return The total wall time, in nanoseconds
+         */
+        public long getWallTimeNanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * @return The total bytes allocated, 0 if allocations aren't tracked
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+    }
+
+    /**
+     * A running measurement, recorded when closed.
+     */
+    public final class Timer implements AutoCloseable {
+        private final Stat[] stats;
+        private final long startNanos;
+        private final long startBytes;
+
+        private Timer(Stat... stats) {
+            this.stats = stats;
+            this.startBytes = allocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - startNanos;
+            long bytes = trackAllocations ? allocatedBytes() - startBytes : 0;
+            for (Stat stat : stats) {
+                stat.add(elapsed, bytes);
+            }
+        }
+    }
+
+    private long allocatedBytes() {
+        if (!trackAllocations) {
+            return 0;
+        }
+        try {
+            return (long) THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Starts measuring a phase, to be used in a try-with-resources block.
+     *
+     * @param phase The phase, e.g. {@link #NORMALIZE}
+     * @return The running measurement
+     */
+    public Timer start(String phase) {
+        return new Timer(phases.computeIfAbsent(phase, k -> new Stat()));
+    }
+
+    /**
+     * Starts measuring the rendering of a template, recorded both for the template and the {@link #RENDER} phase.
+     *
+     * @param templateName The template
+     * @return The running measurement
+     */
+    public Timer startTemplate(String templateName) {
+        return new Timer(templates.computeIfAbsent(templateName, k -> new Stat()), phases.computeIfAbsent(RENDER, k -> new Stat()));
+    }
+
+    /**
+     * Adds to a counter, e.g. the hits of a cache.
+     *
+     * @param counter The counter name
+     * @param delta   The value to add
+     */
+    public void count(String counter, long delta) {
+        counters.computeIfAbsent(counter, k -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * @return The counters, sorted by name
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((name, value) -> result.put(name, value.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @return The measurements per phase, in the order phases first ran
+     */
+    public Map<String, Stat> getPhases() {
+        synchronized (phases) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+        }
+    }
+
+    /**
+     * @return The rendering measurements per template name, sorted by name
+     */
+    public Map<String, Stat> getTemplates() {
+        return Collections.unmodifiableMap(new TreeMap<>(templates));
+    }
+
+    /**
+     * @return The measurements as a JSON document
+     */
+    public String toJson() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("trackAllocations", trackAllocations);
+        document.put("phases", toJsonMap(getPhases()));
+        document.put("templates", toJsonMap(getTemplates()));
+        document.put("counters", getCounters());
+        try {
+            return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize generation metrics", e);
+        }
+    }
+
+    private Map<String, Object> toJsonMap(Map<String, Stat> stats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        stats.forEach((name, stat) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", stat.getCount());
+            values.put("wallTimeMillis", TimeUnit.NANOSECONDS.toMillis(stat.getWallTimeNanos()));
+            if (trackAllocations) {
+                values.put("allocatedBytes", stat.getAllocatedBytes());
+            }
+            result.put(name, values);
+        });
+        return result;
+    }
+
+    /**
+     * @return A human-readable summary of the phases and counters
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Generation metrics:").append(System.lineSeparator());
+        getPhases().forEach((name, stat) -> {
+            sb.append(String.format(Locale.ROOT, "  %-22s %10d ms %8d call(s)", name,
+                    TimeUnit.NANOSECONDS.toMillis(stat.getWallTimeNanos()), stat.getCount()));
+            if (trackAllocations) {
+                sb.append(String.format(Locale.ROOT, " %12d KiB allocated", stat.getAllocatedBytes() / 1024));
+            }
+            sb.append(System.lineSeparator());
+        });
+        getCounters().forEach((name, value) ->
+                sb.append(String.format(Locale.ROOT, "  %-34s %10d", name, value)).append(System.lineSeparator()));
+        return sb.toString();
+    }
+}
@@ -17,10 +17,13 @@
 
 package org.openapitools.codegen;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.*;
 import io.swagger.v3.oas.models.PathItem.HttpMethod;
@@ -31,17 +34,21 @@ import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import java.util.stream.Collectors;
+import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 
 public class InlineModelResolver {
     private OpenAPI openAPI;
     private Map<String, Schema> addedModels = new HashMap<>();
-    private Map<String, String> generatedSignature = new HashMap<>();
+    // structural fingerprints of the generated schemas, so that the serialized schemas aren't retained
+    private Map<Fingerprint, String> generatedSignature = new HashMap<>();
     private Map<String, String> inlineSchemaNameMapping = new HashMap<>();
     private Map<String, String> inlineSchemaOptions = new HashMap<>();
     private Set<String> inlineSchemaNameMappingValues = new HashSet<>();
@@ -757,11 +764,8 @@ public class InlineModelResolver {
         }
 
         try {
-            String json = structureMapper.writeValueAsString(model);
-            if (generatedSignature.containsKey(json)) {
-                return generatedSignature.get(json);
-            }
-        } catch (JsonProcessingException e) {
+            return generatedSignature.get(Fingerprint.of(model));
+        } catch (IOException e) {
             e.printStackTrace();
         }
 
@@ -770,13 +774,53 @@ public class InlineModelResolver {
 
     private void addGenerated(String name, Schema model) {
         try {
-            String json = structureMapper.writeValueAsString(model);
-            generatedSignature.put(json, name);
-        } catch (JsonProcessingException e) {
+            generatedSignature.put(Fingerprint.of(model), name);
+        } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Structural fingerprint of a schema: a 128-bit hash of its serialization with the structure mapper, streamed
+     * without building the JSON string. A second, independent 64-bit hash of the same bytes is part of the fingerprint
+     * so that a collision of the first one doesn't make two different schemas match.
+     */
+    private static final class Fingerprint {
+        private final HashCode hash;
+        private final long verification;
+
+        private Fingerprint(HashCode hash, long verification) {
+            this.hash = hash;
+            this.verification = verification;
+        }
+
+        private static Fingerprint of(Schema model) throws IOException {
+            Hasher hasher = Hashing.murmur3_128().newHasher();
+            Hasher verifier = Hashing.sipHash24().newHasher();
+            try (OutputStream out = new TeeOutputStream(Funnels.asOutputStream(hasher), Funnels.asOutputStream(verifier))) {
+                structureMapper.writeValue(out, model);
+            }
+            return new Fingerprint(hasher.hash(), verifier.hash().asLong());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint that = (Fingerprint) o;
+            return verification == that.verification && hash.equals(that.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash.hashCode();
+        }
+    }
+
     /**
      * Sanitizes the input so that it's valid name for a class or interface
      * <p>
@@ -46,11 +46,24 @@ public class OpenAPINormalizer {
     protected OpenAPI openAPI;
     private Map<String, String> inputRules = new HashMap<>();
     private Map<String, Boolean> rules = new HashMap<>();
+    // names of the enabled rules, compiled in processRules as rules are checked for every schema
+    private Set<String> enabledRules = Collections.emptySet();
 
     private TreeSet<String> anyTypeTreeSet = new TreeSet<>();
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(OpenAPINormalizer.class);
 
+    private static final Map<String, Function<PathItem, Operation>> METHOD_MAP = Map.of(
+            "get", PathItem::getGet,
+            "put", PathItem::getPut,
+            "head", PathItem::getHead,
+            "post", PathItem::getPost,
+            "delete", PathItem::getDelete,
+            "patch", PathItem::getPatch,
+            "options", PathItem::getOptions,
+            "trace", PathItem::getTrace
+    );
+
     Set<String> ruleNames = new TreeSet<>();
     Set<String> rulesDefaultToTrue = new TreeSet<>();
 
@@ -239,10 +252,7 @@ public class OpenAPINormalizer {
      * @return true if the rule is set
      */
     public boolean getRule(String ruleName) {
-        if (!rules.containsKey(ruleName)) {
-            return false;
-        }
-        return rules.get(ruleName);
+        return enabledRules.contains(ruleName);
     }
 
     /**
@@ -324,6 +334,24 @@ public class OpenAPINormalizer {
         if (bearerAuthSecuritySchemeName != null) {
             rules.put(SET_BEARER_AUTH_FOR_NAME, true);
         }
+
+        Set<String> enabled = new HashSet<>();
+        rules.forEach((name, value) -> {
+            if (Boolean.TRUE.equals(value)) {
+                enabled.add(name);
+            }
+        });
+        enabledRules = enabled;
+    }
+
+    /**
+     * Create the set used to track the schemas already visited while normalizing a schema.
+     * Schemas are compared by identity: hashing a schema would hash its whole sub-tree, for each visited node.
+     *
+     * @return an empty set of visited schemas
+     */
+    protected Set<Schema> newVisitedSchemas() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     /**
@@ -386,29 +414,23 @@ public class OpenAPINormalizer {
             return;
         }
 
+        // the filter is parsed once for all paths
+        Filter filter = null;
+        if (getRule(FILTER) && !paths.isEmpty()) {
+            filter = createFilter(this.openAPI, inputRules.get(FILTER));
+            if (!filter.parse()) {
+                filter = null;
+            }
+        }
+
         for (Map.Entry<String, PathItem> pathsEntry : paths.entrySet()) {
             PathItem path = pathsEntry.getValue();
             List<Operation> operations = new ArrayList<>(path.readOperations());
 
-            Map<String, Function<PathItem, Operation>> methodMap = Map.of(
-                    "get", PathItem::getGet,
-                    "put", PathItem::getPut,
-                    "head", PathItem::getHead,
-                    "post", PathItem::getPost,
-                    "delete", PathItem::getDelete,
-                    "patch", PathItem::getPatch,
-                    "options", PathItem::getOptions,
-                    "trace", PathItem::getTrace
-            );
-
-            if (Boolean.TRUE.equals(getRule(FILTER))) {
-                String filters = inputRules.get(FILTER);
-                Filter filter = createFilter(this.openAPI, filters);
-                if (filter.parse()) {
-                    // Iterates over each HTTP method in methodMap, retrieves the corresponding Operations from the PathItem,
-                    // and marks it as internal (`x-internal=true`) if the method/operationId/tag/path is not in the filters.
-                    filter.apply(pathsEntry.getKey(), path, methodMap);
-                }
+            if (filter != null) {
+                // Iterates over each HTTP method in methodMap, retrieves the corresponding Operations from the PathItem,
+                // and marks it as internal (`x-internal=true`) if the method/operationId/tag/path is not in the filters.
+                filter.apply(pathsEntry.getKey(), path, METHOD_MAP);
             }
 
             // Include callback operation as well
@@ -470,7 +492,7 @@ public class OpenAPINormalizer {
             } else if (mediaType.getSchema() == null) {
                 continue;
             } else {
-                Schema newSchema = normalizeSchema(mediaType.getSchema(), new HashSet<>());
+                Schema newSchema = normalizeSchema(mediaType.getSchema(), newVisitedSchemas());
                 mediaType.setSchema(newSchema);
             }
         }
@@ -518,7 +540,7 @@ public class OpenAPINormalizer {
             }
 
             if (parameter.getSchema() != null) {
-                Schema newSchema = normalizeSchema(parameter.getSchema(), new HashSet<>());
+                Schema newSchema = normalizeSchema(parameter.getSchema(), newVisitedSchemas());
                 parameter.setSchema(newSchema);
             }
         }
@@ -576,7 +598,7 @@ public class OpenAPINormalizer {
                 //    example: null
                 //    content: null
                 //    $ref: #/components/headers/Location
-                Schema updatedHeader = normalizeSchema(h.getSchema(), new HashSet<>());
+                Schema updatedHeader = normalizeSchema(h.getSchema(), newVisitedSchemas());
                 h.setSchema(updatedHeader);
             }
         }
@@ -638,7 +660,7 @@ public class OpenAPINormalizer {
                 fixSelfReferenceSchema(schemaName, schema);
 
                 // normalize the schemas
-                schemas.put(schemaName, normalizeSchema(schema, new HashSet<>()));
+                schemas.put(schemaName, normalizeSchema(schema, newVisitedSchemas()));
             }
         }
     }
@@ -869,7 +891,7 @@ public class OpenAPINormalizer {
     }
 
     protected Schema normalizeArraySchema(Schema schema) {
-        Schema result = processNormalize31Spec(schema, new HashSet<>());
+        Schema result = processNormalize31Spec(schema, newVisitedSchemas());
         return processSetArraytoNullable(result);
     }
 
@@ -921,7 +943,7 @@ public class OpenAPINormalizer {
                     property.getExtensions().remove(X_INTERNAL);
                 }
             }
-            Schema newProperty = normalizeSchema(property, new HashSet<>());
+            Schema newProperty = normalizeSchema(property, newVisitedSchemas());
             propertiesEntry.setValue(newProperty);
         }
     }
@@ -1771,7 +1793,7 @@ public class OpenAPINormalizer {
 
         // at this point the schema becomes a simple allOf (no properties) with an additional schema containing
         // the properties. Normalize it before returning.
-        return normalizeSchema(schema, new HashSet<>());
+        return normalizeSchema(schema, newVisitedSchemas());
     }
 
     /**
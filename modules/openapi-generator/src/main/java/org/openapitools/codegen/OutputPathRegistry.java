@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Paths of the files generated by a generation, keyed on their normalized lower-case absolute path so that duplicate
+ * paths, including paths only differing by case (which not all operating systems can handle), are detected in constant
+ * time however many files are generated.
+ * <p>
+ * The registry is safe to use from several threads.
+ */
+public class OutputPathRegistry {
+    private final Map<String, List<String>> paths = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a generated path.
+     *
+     * @param path The path of the generated file
+     * @return true if the path, or a path only differing by case, was already registered
+     */
+    public boolean register(Path path) {
+        String absolutePath = path.toAbsolutePath().normalize().toString();
+        boolean[] duplicate = {false};
+        paths.compute(absolutePath.toLowerCase(Locale.ROOT), (key, registered) -> {
+            if (registered == null) {
+                return Collections.singletonList(absolutePath);
+            }
+            // duplicates are rare, copying keeps the registered lists immutable
+            duplicate[0] = true;
+            List<String> updated = new ArrayList<>(registered);
+            updated.add(absolutePath);
+            return Collections.unmodifiableList(updated);
+        });
+        return duplicate[0];
+    }
+
+    /**
+     * @param path A path
+     * @return true if the path, or a path only differing by case, is registered
+     */
+    public boolean contains(Path path) {
+        return paths.containsKey(path.toAbsolutePath().normalize().toString().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return The number of distinct registered paths, ignoring case
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * @return The distinct registered paths only differing by case, by lower-case path
+     */
+    public Map<String, List<String>> getCollisions() {
+        Map<String, List<String>> collisions = new TreeMap<>();
+        paths.forEach((key, registered) -> {
+            if (registered.size() > 1) {
+                List<String> distinct = registered.stream().distinct().collect(Collectors.toList());
+                if (distinct.size() > 1) {
+                    collisions.put(key, Collections.unmodifiableList(distinct));
+                }
+            }
+        });
+        return Collections.unmodifiableMap(collisions);
+    }
+
+    /**
+     * Forgets all the registered paths.
+     */
+    public void clear() {
+        paths.clear();
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.samskivert.mustache.Mustache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Tracks a fingerprint of the inputs of every rendered file (template data bundle, template and generator settings),
+ * persisted in the {@code .openapi-generator} metadata directory, so that a file whose inputs didn't change since the
+ * previous generation is neither rendered nor written again.
+ * <p>
+ * A file is only considered up to date when its recorded fingerprint matches and it still has the size and
+ * modification time recorded at the end of the previous generation, so files modified by hand are regenerated.
+ */
+public class RenderFingerprintCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderFingerprintCache.class);
+
+    /**
+     * Bundle keys whose value changes on every run without being relevant to the generated output.
+     */
+    private static final Set<String> EXCLUDED_KEYS = Set.of("generatedDate", CodegenConstants.MUSTACHE_PARENT_CONTEXT);
+
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private final Path metadataFile;
+    private final Path outputDir;
+    private final String runFingerprint;
+    private final Map<String, Entry> previous;
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+    private final Set<String> unchanged = ConcurrentHashMap.newKeySet();
+    private final Map<Object, String> bundleFingerprints = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static class Entry {
+        private final String fingerprint;
+        private final long size;
+        private final long lastModified;
+
+        private Entry(String fingerprint, long size, long lastModified) {
+            this.fingerprint = fingerprint;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Loads the fingerprints recorded by the previous generation, if any.
+     *
+     * @param metadataFile   The file holding the fingerprints
+     * @param outputDir      The output directory the recorded paths are relative to
+     * @param runFingerprint A fingerprint of the settings shared by all files (generator, version, templates, ...)
+     */
+    public RenderFingerprintCache(Path metadataFile, Path outputDir, String runFingerprint) {
+        this.metadataFile = metadataFile;
+        this.outputDir = outputDir.toAbsolutePath().normalize();
+        this.runFingerprint = runFingerprint;
+        this.previous = load(metadataFile);
+    }
+
+    private static ObjectMapper createMapper() {
+        SimpleModule module = new SimpleModule();
+        // lambdas and generator references only contribute their type, their behavior is covered by the run fingerprint
+        JsonSerializer<Object> typeOnly = new JsonSerializer<>() {
+            @Override
+            public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                gen.writeString(value.getClass().getName());
+            }
+        };
+        module.addSerializer(Mustache.Lambda.class, typeOnly);
+        module.addSerializer(CodegenConfig.class, typeOnly);
+        return new ObjectMapper()
+                .registerModule(module)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private static Map<String, Entry> load(Path metadataFile) {
+        Map<String, Entry> entries = new HashMap<>();
+        if (!Files.isRegularFile(metadataFile)) {
+            return entries;
+        }
+        try (Stream<String> lines = Files.lines(metadataFile, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                // <fingerprint> <size> <lastModified> <relative path>
+                String[] parts = line.split(" ", 4);
+                if (parts.length == 4) {
+                    try {
+                        entries.put(parts[3], new Entry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                    } catch (NumberFormatException e) {
+                        LOGGER.debug("Ignoring invalid fingerprint entry: {}", line);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read fingerprints from {}, all files will be regenerated.", metadataFile);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Computes the fingerprint of a file about to be rendered.
+     *
+     * @param templateData The data bundle passed to the template
+     * @param templateName The template
+     * @param target       The output file
+     * @return The fingerprint, or null if the bundle can't be fingerprinted (the file is then always rendered)
+     */
+    public String fingerprint(Map<String, Object> templateData, String templateName, File target) {
+        String bundleFingerprint = bundleFingerprints.get(templateData);
+        if (bundleFingerprint == null) {
+            bundleFingerprint = fingerprintBundle(templateData);
+            bundleFingerprints.put(templateData, bundleFingerprint);
+        }
+        if (bundleFingerprint.isEmpty()) {
+            return null;
+        }
+        return Hashing.sha256().newHasher()
+                .putString(runFingerprint, StandardCharsets.UTF_8)
+                .putString(templateName, StandardCharsets.UTF_8)
+                .putString(relativize(target), StandardCharsets.UTF_8)
+                .putString(bundleFingerprint, StandardCharsets.UTF_8)
+                .hash()
+                .toString();
+    }
+
+    @SuppressWarnings("java:S1181") // deeply nested or cyclic bundles may overflow the stack, fall back to rendering
+    private static String fingerprintBundle(Map<String, Object> templateData) {
+        Map<String, Object> relevant = new HashMap<>(templateData);
+        EXCLUDED_KEYS.forEach(relevant::remove);
+        Hasher hasher = Hashing.sha256().newHasher();
+        try (OutputStream out = Funnels.asOutputStream(hasher)) {
+            MAPPER.writeValue(out, relevant);
+        } catch (Exception | StackOverflowError e) {
+            LOGGER.debug("Unable to fingerprint template data, the file will be regenerated: {}", e.getMessage());
+            return "";
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Determines whether a file is unchanged since the previous generation. If so, it is recorded for the next one.
+     *
+     * @param target      The output file
+     * @param fingerprint The fingerprint of its inputs
+     * @return true if the file doesn't need to be rendered again
+     */
+    public boolean isUpToDate(File target, String fingerprint) {
+        String path = relativize(target);
+        Entry entry = previous.get(path);
+        if (entry == null || !entry.fingerprint.equals(fingerprint)
+                || !target.isFile() || target.length() != entry.size || target.lastModified() != entry.lastModified) {
+            return false;
+        }
+        current.put(path, fingerprint);
+        unchanged.add(path);
+        return true;
+    }
+
+    /**
+     * @param file A generated file
+     * @return true if the file was skipped as it is unchanged since the previous generation
+     */
+    public boolean isUnchanged(File file) {
+        return unchanged.contains(relativize(file));
+    }
+
+    /**
+     * Records the fingerprint of a rendered file.
+     *
+     * @param target      The output file
+     * @param fingerprint The fingerprint of its inputs
+     */
+    public void record(File target, String fingerprint) {
+        current.put(relativize(target), fingerprint);
+    }
+
+    /**
+     * @return The number of files skipped as unchanged
+     */
+    public int getUnchangedCount() {
+        return unchanged.size();
+    }
+
+    /**
+     * Persists the fingerprints of the files generated by this run, along with their current size and modification time.
+     * This is expected to run after post-processing so that formatted files are considered up to date.
+     */
+    public void save() {
+        List<String> lines = new ArrayList<>(current.size());
+        current.forEach((path, fingerprint) -> {
+            File file = outputDir.resolve(path).toFile();
+            if (file.isFile()) {
+                lines.add(fingerprint + " " + file.length() + " " + file.lastModified() + " " + path);
+            }
+        });
+        Collections.sort(lines);
+        try {
+            Files.createDirectories(metadataFile.getParent());
+            Files.write(metadataFile, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write fingerprints to {}", metadataFile);
+        }
+    }
+
+    private String relativize(File file) {
+        return outputDir.relativize(file.toPath().toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Computes a fingerprint of the contents of a template directory.
+     *
+     * @param templateDir The template directory
+     * @return The fingerprint, empty if the directory doesn't exist on the file system (e.g. embedded templates)
+     */
+    static String fingerprintDirectory(String templateDir) {
+        if (templateDir == null) {
+            return "";
+        }
+        Path dir = new File(templateDir).toPath();
+        if (!Files.isDirectory(dir)) {
+            return "";
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            List<Path> files = new ArrayList<>();
+            paths.filter(Files::isRegularFile).forEach(files::add);
+            Collections.sort(files);
+            for (Path file : files) {
+                hasher.putString(dir.relativize(file).toString(), StandardCharsets.UTF_8);
+                hasher.putBytes(Files.readAllBytes(file));
+            }
+        } catch (IOException e) {
+            // unreadable templates: use a unique fingerprint so that everything is regenerated
+            hasher.putLong(System.nanoTime());
+        }
+        return hasher.hash().toString();
+    }
+}
@@ -1,7 +1,9 @@
 package org.openapitools.codegen;
 
+import lombok.Setter;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.api.OutputSink;
 import org.openapitools.codegen.api.TemplatePathLocator;
 import org.openapitools.codegen.api.TemplateProcessor;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
@@ -13,11 +15,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
@@ -30,6 +34,15 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     private final TemplateManagerOptions options;
     private final TemplatingEngineAdapter engineAdapter;
     private final TemplatePathLocator[] templateLoaders;
+    /**
+     * Metrics recording the time spent rendering templates and writing files.
+     */
+    @Setter private GenerationMetrics generationMetrics = new GenerationMetrics();
+    /**
+     * Destination of the written files instead of the filesystem, see {@link #setOutputSink(OutputSink, String)}.
+     */
+    private OutputSink outputSink;
+    private Path outputDirectory;
 
     private final Logger LOGGER = LoggerFactory.getLogger(TemplateManager.class);
 
@@ -164,7 +177,10 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     public File write(Map<String, Object> data, String template, File target) throws IOException {
         if (this.engineAdapter.handlesFile(template)) {
             // Only pass files with valid endings through template engine
-            String templateContent = this.engineAdapter.compileTemplate(this, data, template);
+            String templateContent;
+            try (GenerationMetrics.Timer ignored = generationMetrics.startTemplate(template)) {
+                templateContent = this.engineAdapter.compileTemplate(this, data, template);
+            }
             return writeToFile(target.getPath(), templateContent);
         } else {
             // Do a straight copy of the file if not listed as supported by the template engine.
@@ -212,29 +228,40 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
      */
     @Override
     public File writeToFile(String filename, byte[] contents) throws IOException {
+        try (GenerationMetrics.Timer ignored = generationMetrics.start(GenerationMetrics.WRITE)) {
+            return writeToFileWithOptions(filename, contents);
+        }
+    }
+
+    /**
+     * Writes the files to a sink instead of the filesystem, e.g. to stream them to an archive. The minimal update and
+     * skip overwrite options, which compare against existing files, don't apply to the files written to a sink.
+     *
+     * @param outputSink      The sink, null to write to the filesystem
+     * @param outputDirectory The output directory, which the paths passed to the sink are relative to
+     */
+    public void setOutputSink(OutputSink outputSink, String outputDirectory) {
+        this.outputSink = outputSink;
+        this.outputDirectory = outputSink == null ? null : Paths.get(outputDirectory).toAbsolutePath().normalize();
+    }
+
+    private File writeToFileWithOptions(String filename, byte[] contents) throws IOException {
         // Use Paths.get here to normalize path (for Windows file separator, space escaping on Linux/Mac, etc)
         File outputFile = Paths.get(filename).toFile();
 
-        if (this.options.isMinimalUpdate()) {
-            String tempFilename = filename + ".tmp";
-            File tempFile = null;
-            try {
-                tempFile = writeToFileRaw(tempFilename, contents);
-                if (!filesEqual(tempFile, outputFile)) {
-                    LOGGER.info("writing file {}", filename);
-                    Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                    tempFile = null;
-                } else {
-                    LOGGER.info("skipping unchanged file {}", filename);
-                }
-            } finally {
-                if (tempFile != null && tempFile.exists()) {
-                    try {
-                        Files.delete(tempFile.toPath());
-                    } catch (Exception ex) {
-                        LOGGER.error("Error removing temporary file {}", tempFile, ex);
-                    }
-                }
+        if (this.outputSink != null) {
+            Path absolutePath = outputFile.toPath().toAbsolutePath().normalize();
+            if (!absolutePath.startsWith(outputDirectory)) {
+                throw new IOException(String.format(Locale.ROOT, "Target files must be generated within the output directory; absoluteTarget=%s outDir=%s", absolutePath, outputDirectory));
+            }
+            LOGGER.info("writing file {}", filename);
+            this.outputSink.write(outputDirectory.relativize(absolutePath), contents);
+        } else if (this.options.isMinimalUpdate()) {
+            if (contentEquals(outputFile.toPath(), contents)) {
+                LOGGER.info("skipping unchanged file {}", filename);
+            } else {
+                LOGGER.info("writing file {}", filename);
+                writeToFileAtomically(outputFile.toPath(), contents);
             }
         } else {
             LOGGER.info("writing file {}", filename);
@@ -261,7 +288,54 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         return output;
     }
 
-    private boolean filesEqual(File file1, File file2) throws IOException {
-        return file1.exists() && file2.exists() && Arrays.equals(Files.readAllBytes(file1.toPath()), Files.readAllBytes(file2.toPath()));
+    /**
+     * Writes the contents to a temporary file next to the target, then moves it over the target, so that the target is
+     * either left untouched or fully written.
+     */
+    private void writeToFileAtomically(Path target, byte[] contents) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.write(tempFile, contents);
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (Exception ex) {
+                LOGGER.error("Error removing temporary file {}", tempFile, ex);
+            }
+        }
+    }
+
+    /**
+     * Compares the contents to an existing file without loading the file in memory: the sizes are compared first, so
+     * changed files are usually detected without reading them.
+     *
+     * @return true if the file exists and has the same contents
+     */
+    private boolean contentEquals(Path file, byte[] contents) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != contents.length) {
+            return false;
+        }
+        byte[] buffer = new byte[(int) Math.min(contents.length, 8192)];
+        try (InputStream in = Files.newInputStream(file)) {
+            int offset = 0;
+            while (offset < contents.length) {
+                int read = in.read(buffer, 0, Math.min(buffer.length, contents.length - offset));
+                if (read < 0 || !Arrays.equals(buffer, 0, read, contents, offset, offset + read)) {
+                    return false;
+                }
+                offset += read;
+            }
+            // the file may have grown since its size was read
+            return in.read() < 0;
+        }
     }
 }
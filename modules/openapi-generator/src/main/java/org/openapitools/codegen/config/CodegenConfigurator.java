@@ -40,6 +40,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -84,6 +85,8 @@ public class CodegenConfigurator {
     private String auth;
 
     private List<TemplateDefinition> userDefinedTemplates = new ArrayList<>();
+    private GenerationMetrics generationMetrics;
+    private ParsedSpecCache parsedSpecCache;
 
     public CodegenConfigurator() {
 
@@ -488,6 +491,10 @@ public class CodegenConfigurator {
         return this;
     }
 
+    public String getInputSpec() {
+        return inputSpec;
+    }
+
     public CodegenConfigurator setInputSpec(String inputSpec) {
         this.inputSpec = inputSpec;
         workflowSettingsBuilder.withInputSpec(inputSpec);
@@ -638,6 +645,30 @@ public class CodegenConfigurator {
         return this;
     }
 
+    /**
+     * Sets the metrics recording the parsing of the spec and the generation of the {@link ClientOptInput} created by
+     * {@link #toClientOptInput()}, e.g. to enable allocation tracking. A new instance is used if not set.
+     *
+     * @param generationMetrics the metrics
+     * @return the configurator
+     */
+    public CodegenConfigurator setGenerationMetrics(GenerationMetrics generationMetrics) {
+        this.generationMetrics = generationMetrics;
+        return this;
+    }
+
+    /**
+     * Sets the cache of the specs parsed by other configurators, e.g. the configurators of a batch generating several
+     * clients or servers from the same spec. The spec is parsed by the configurator if not set.
+     *
+     * @param parsedSpecCache the cache
+     * @return the configurator
+     */
+    public CodegenConfigurator setParsedSpecCache(ParsedSpecCache parsedSpecCache) {
+        this.parsedSpecCache = parsedSpecCache;
+        return this;
+    }
+
     @SuppressWarnings("WeakerAccess")
     public Context<?> toContext() {
         Validate.notEmpty(generatorName, "generator name must be specified");
@@ -684,7 +715,9 @@ public class CodegenConfigurator {
         ParseOptions options = new ParseOptions();
         options.setResolve(true);
         options.setResolveResponses(true);
-        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        SwaggerParseResult result = parsedSpecCache == null
+                ? parse(inputSpec, authorizationValues, options)
+                : parsedSpecCache.readLocation(inputSpec, authorizationValues, options, CodegenConfigurator::parse);
 
         // TODO: Move custom validations to a separate type as part of a "Workflow"
         Set<String> validationMessages = new HashSet<>(null != result.getMessages() ? result.getMessages() : new ArrayList<>());
@@ -741,8 +774,19 @@ public class CodegenConfigurator {
         return new Context<>(specification, generatorSettings, workflowSettings);
     }
 
+    private static SwaggerParseResult parse(String inputSpec, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        String specCacheDir = GlobalSettings.getProperty(CodegenConstants.SPEC_CACHE_DIR);
+        return StringUtils.isNotEmpty(specCacheDir)
+                ? new SpecSnapshotCache(Paths.get(specCacheDir)).readLocation(inputSpec, authorizationValues, options)
+                : new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+    }
+
     public ClientOptInput toClientOptInput() {
-        Context<?> context = toContext();
+        GenerationMetrics metrics = generationMetrics != null ? generationMetrics : new GenerationMetrics();
+        Context<?> context;
+        try (GenerationMetrics.Timer ignored = metrics.start(GenerationMetrics.PARSE)) {
+            context = toContext();
+        }
         WorkflowSettings workflowSettings = context.getWorkflowSettings();
         GeneratorSettings generatorSettings = context.getGeneratorSettings();
 
@@ -807,7 +851,8 @@ public class CodegenConfigurator {
         ClientOptInput input = new ClientOptInput()
                 .config(config)
                 .generatorSettings(generatorSettings)
-                .userDefinedTemplates(userDefinedTemplates);
+                .userDefinedTemplates(userDefinedTemplates)
+                .generationMetrics(metrics);
 
         return input.openAPI((OpenAPI) context.getSpecDocument());
     }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.auth.AuthParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Specs parsed once and shared by several generations, e.g. the generations of a batch generating several clients or
+ * servers from the same spec (see {@link CodegenConfigurator#setParsedSpecCache(ParsedSpecCache)}).
+ * <p>
+ * Generators modify the spec they generate from (e.g. when normalizing it or flattening inline schemas), so each
+ * generation gets its own copy: the first one gets the parsed spec, the next ones a copy deserialized from a snapshot
+ * taken before it was returned. Specs are identified by their location, the parse options and the authorization
+ * values, and parsed when first read; concurrent reads of a spec being parsed wait for it.
+ */
+public class ParsedSpecCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsedSpecCache.class);
+
+    /**
+     * Parses a spec, see {@link io.swagger.parser.OpenAPIParser#readLocation(String, List, ParseOptions)}.
+     */
+    @FunctionalInterface
+    public interface Parser {
+        SwaggerParseResult readLocation(String inputSpec, List<AuthorizationValue> authorizationValues, ParseOptions options);
+    }
+
+    private final Map<List<String>, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger parses = new AtomicInteger();
+    private final AtomicInteger copies = new AtomicInteger();
+
+    /**
+     * Returns a spec, parsing it on the first read.
+     *
+     * @param inputSpec           The location of the spec
+     * @param authorizationValues The authorization values used to fetch remote references
+     * @param options             The parse options
+     * @param parser              The parser of the spec
+     * @return The parse result, whose spec isn't shared with the other reads
+     */
+    public SwaggerParseResult readLocation(String inputSpec, List<AuthorizationValue> authorizationValues,
+                                           ParseOptions options, Parser parser) {
+        List<String> key;
+        try {
+            Path local = SpecSnapshotCache.localPath(inputSpec);
+            key = Arrays.asList(local == null ? inputSpec : local.toString(),
+                    Json.mapper().writeValueAsString(options),
+                    authorizationValues == null ? "" : AuthParser.reconstruct(authorizationValues));
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Unable to identify the spec {}, parsing it", inputSpec, e);
+            parses.incrementAndGet();
+            return parser.readLocation(inputSpec, authorizationValues, options);
+        }
+        return entries.computeIfAbsent(key, k -> new Entry()).read(inputSpec, authorizationValues, options, parser);
+    }
+
+    /**
+     * @return The number of parsed specs
+     */
+    public int getParses() {
+        return parses.get();
+    }
+
+    /**
+     * @return The number of copies of parsed specs
+     */
+    public int getCopies() {
+        return copies.get();
+    }
+
+    private final class Entry {
+        private boolean parsed;
+        // null if the spec couldn't be parsed or serialized, in which case it's parsed on each read
+        private byte[] snapshot;
+        private SpecVersion specVersion;
+        private List<String> messages;
+
+        SwaggerParseResult read(String inputSpec, List<AuthorizationValue> authorizationValues, ParseOptions options, Parser parser) {
+            synchronized (this) {
+                if (!parsed) {
+                    SwaggerParseResult result = parser.readLocation(inputSpec, authorizationValues, options);
+                    parses.incrementAndGet();
+                    parsed = true;
+                    snapshot(inputSpec, result);
+                    return result;
+                }
+            }
+            if (snapshot == null) {
+                parses.incrementAndGet();
+                return parser.readLocation(inputSpec, authorizationValues, options);
+            }
+            try {
+                OpenAPI openAPI = SpecSnapshotCache.mapper(specVersion).readValue(snapshot, OpenAPI.class);
+                openAPI.setSpecVersion(specVersion);
+                SwaggerParseResult result = new SwaggerParseResult();
+                result.setOpenAPI(openAPI);
+                result.setMessages(new ArrayList<>(messages));
+                copies.incrementAndGet();
+                return result;
+            } catch (IOException e) {
+                LOGGER.warn("Unable to copy the spec {}, parsing it", inputSpec, e);
+                parses.incrementAndGet();
+                return parser.readLocation(inputSpec, authorizationValues, options);
+            }
+        }
+
+        private void snapshot(String inputSpec, SwaggerParseResult result) {
+            OpenAPI openAPI = result.getOpenAPI();
+            if (openAPI == null) {
+                return;
+            }
+            specVersion = openAPI.getSpecVersion() == null ? SpecVersion.V30 : openAPI.getSpecVersion();
+            messages = result.getMessages() == null ? new ArrayList<>() : new ArrayList<>(result.getMessages());
+            try {
+                snapshot = SpecSnapshotCache.mapper(specVersion).writeValueAsBytes(openAPI);
+            } catch (JsonProcessingException | RuntimeException e) {
+                LOGGER.warn("Unable to share the spec {}, parsing it for each generation", inputSpec, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.auth.AuthParser;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of parsed specifications, reusing the result of a previous parse of the same local specification files.
+ * <p>
+ * Each entry is a gzip-compressed snapshot of the parse result, named after a hash of the generator version, the path
+ * of the root specification file, the parse options and the authorization values. The snapshot starts with the hashes
+ * of the contents of the files read by the parser (the root file and the files it references, transitively): the entry
+ * is used only if none of them changed, and is replaced by the next parse otherwise.
+ * <p>
+ * Remote specifications, and specifications referencing remote files, are always parsed. Entries are replaced
+ * atomically, so that several generations can share a cache directory.
+ */
+public class SpecSnapshotCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecSnapshotCache.class);
+
+    // version of the snapshot layout, part of the entry names
+    private static final String FORMAT = "1";
+    private static final String SUFFIX = ".snapshot.json.gz";
+
+    private final Path directory;
+    private final ParsedSpecCache.Parser parser;
+
+    /**
+     * @param directory The directory of the cache entries, created on the first write
+     */
+    public SpecSnapshotCache(Path directory) {
+        this(directory, SpecSnapshotCache::parse);
+    }
+
+    SpecSnapshotCache(Path directory, ParsedSpecCache.Parser parser) {
+        this.directory = directory;
+        this.parser = parser;
+    }
+
+    /**
+     * Parses a specification, or reads the result of a previous parse from the cache.
+     *
+     * @param inputSpec           The location of the specification, as given to {@link OpenAPIParser#readLocation}
+     * @param authorizationValues The authorization values used to fetch remote references
+     * @param options             The parse options
+     * @return The parse result
+     */
+    public SwaggerParseResult readLocation(String inputSpec, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        Path root = localPath(inputSpec);
+        if (root == null || !Files.isRegularFile(root)) {
+            return parser.readLocation(inputSpec, authorizationValues, options);
+        }
+
+        Path entry;
+        try {
+            entry = directory.resolve(entryName(root, authorizationValues, options));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to compute the cache entry of {}, parsing it", inputSpec, e);
+            return parser.readLocation(inputSpec, authorizationValues, options);
+        }
+
+        SwaggerParseResult cached = read(entry);
+        if (cached != null) {
+            LOGGER.info("Using the parsed specification cached in {}", entry);
+            return cached;
+        }
+
+        // the files are hashed before parsing and checked again after, so that an entry never pairs the hashes of files
+        // changed during the parse with the result of parsing their previous contents
+        Map<String, String> files;
+        try {
+            files = referencedFiles(root);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to read the files referenced by {}, not caching it", inputSpec, e);
+            files = null;
+        }
+        SwaggerParseResult result = parser.readLocation(inputSpec, authorizationValues, options);
+        if (files == null) {
+            LOGGER.debug("{} references remote or missing files, not caching it", inputSpec);
+        } else if (result.getOpenAPI() != null) {
+            try {
+                if (files.equals(referencedFiles(root))) {
+                    write(entry, files, result);
+                } else {
+                    LOGGER.info("The files of {} changed while parsing it, not caching it", inputSpec);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Unable to cache the parsed specification in {}", entry, e);
+            }
+        }
+        return result;
+    }
+
+    private static SwaggerParseResult parse(String inputSpec, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        return new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+    }
+
+    /**
+     * @return the local file of a location, null for remote locations
+     */
+    static Path localPath(String location) {
+        if (location == null || location.isEmpty()) {
+            return null;
+        }
+        try {
+            if (location.regionMatches(true, 0, "file:", 0, 5)) {
+                return Paths.get(URI.create(location)).toAbsolutePath().normalize();
+            }
+            if (location.matches("(?i)^[a-z][a-z0-9+.-]+://.*")) {
+                return null;
+            }
+            return Paths.get(location).toAbsolutePath().normalize();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static String entryName(Path root, List<AuthorizationValue> authorizationValues, ParseOptions options) throws IOException {
+        MessageDigest digest = sha256();
+        for (String part : new String[]{
+                FORMAT,
+                ImplementationVersion.read(),
+                root.toString(),
+                Json.mapper().writeValueAsString(options),
+                authorizationValues == null ? "" : AuthParser.reconstruct(authorizationValues)}) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest()) + SUFFIX;
+    }
+
+    /**
+     * Collects the files read by the parser: the root file and the files referenced by relative or file: references,
+     * transitively.
+     *
+     * @return the hash of the contents of the files, by path; null if a reference is remote or can't be read
+     */
+    static Map<String, String> referencedFiles(Path root) throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        Deque<Path> pending = new ArrayDeque<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Path file = pending.poll();
+            if (files.containsKey(file.toString())) {
+                continue;
+            }
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            byte[] contents = Files.readAllBytes(file);
+            files.put(file.toString(), hash(contents));
+
+            List<String> references = new ArrayList<>();
+            collectReferences(Yaml.mapper().readTree(contents), references);
+            for (String reference : references) {
+                Path referenced = resolve(file, reference);
+                if (referenced == null) {
+                    return null;
+                }
+                pending.add(referenced);
+            }
+        }
+        return files;
+    }
+
+    private static void collectReferences(JsonNode node, List<String> references) {
+        if (node == null) {
+            return;
+        }
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if ("$ref".equals(field.getKey()) && field.getValue().isTextual()) {
+                    String reference = field.getValue().asText();
+                    int fragment = reference.indexOf('#');
+                    String location = fragment < 0 ? reference : reference.substring(0, fragment);
+                    if (!location.isEmpty()) {
+                        references.add(location);
+                    }
+                } else {
+                    collectReferences(field.getValue(), references);
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                collectReferences(element, references);
+            }
+        }
+    }
+
+    private static Path resolve(Path file, String reference) {
+        if (reference.regionMatches(true, 0, "file:", 0, 5)) {
+            return localPath(reference);
+        }
+        if (reference.matches("(?i)^[a-z][a-z0-9+.-]+:.*")) {
+            return null;
+        }
+        try {
+            return file.resolveSibling(reference).normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    static SwaggerParseResult read(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry)));
+             JsonParser parser = Json.mapper().getFactory().createParser(in)) {
+            expect(parser, JsonToken.START_OBJECT);
+            expectField(parser, "files");
+            Map<String, String> files = parser.readValueAs(new TypeReference<LinkedHashMap<String, String>>() {
+            });
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                Path path = Paths.get(file.getKey());
+                if (!Files.isRegularFile(path) || !file.getValue().equals(hash(Files.readAllBytes(path)))) {
+                    LOGGER.debug("{} changed since the specification was cached", path);
+                    return null;
+                }
+            }
+
+            expectField(parser, "specVersion");
+            SpecVersion specVersion = SpecVersion.valueOf(parser.getValueAsString());
+            expectField(parser, "messages");
+            List<String> messages = parser.readValueAs(new TypeReference<List<String>>() {
+            });
+            expectField(parser, "openAPI");
+            OpenAPI openAPI = mapper(specVersion).readValue(parser, OpenAPI.class);
+            openAPI.setSpecVersion(specVersion);
+
+            SwaggerParseResult result = new SwaggerParseResult();
+            result.setOpenAPI(openAPI);
+            result.setMessages(messages);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring the unreadable cache entry {}", entry, e);
+            return null;
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.nextToken() != token) {
+            throw new IOException("Unexpected token " + parser.currentToken() + ", expecting " + token);
+        }
+    }
+
+    private static void expectField(JsonParser parser, String name) throws IOException {
+        expect(parser, JsonToken.FIELD_NAME);
+        if (!name.equals(parser.currentName())) {
+            throw new IOException("Unexpected field " + parser.currentName() + ", expecting " + name);
+        }
+        parser.nextToken();
+    }
+
+    private void write(Path entry, Map<String, String> files, SwaggerParseResult result) throws IOException {
+        OpenAPI openAPI = result.getOpenAPI();
+        SpecVersion specVersion = openAPI.getSpecVersion() == null ? SpecVersion.V30 : openAPI.getSpecVersion();
+        List<String> messages = result.getMessages() == null ? new ArrayList<>() : result.getMessages();
+
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+                 JsonGenerator generator = Json.mapper().getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeObjectField("files", files);
+                generator.writeStringField("specVersion", specVersion.name());
+                generator.writeObjectField("messages", messages);
+                generator.writeFieldName("openAPI");
+                mapper(specVersion).writeValue(generator, openAPI);
+                generator.writeEndObject();
+            }
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.debug("Cached the parsed specification in {}", entry);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static ObjectMapper mapper(SpecVersion specVersion) {
+        return specVersion == SpecVersion.V31 ? Json31.mapper() : Json.mapper();
+    }
+
+    private static String hash(byte[] contents) {
+        return toHex(sha256().digest(contents));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +41,10 @@ public class CodegenIgnoreProcessor {
     private final Logger LOGGER = LoggerFactory.getLogger(CodegenIgnoreProcessor.class);
 
     private File ignoreFile = null;
+    private Path baseDirectory = null;
+    // compiled on first use, null if the rules can't be compiled
+    private volatile IgnoreRuleMatcher matcher = null;
+    private volatile boolean compiled = false;
 
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
@@ -84,6 +89,7 @@ public class CodegenIgnoreProcessor {
             try {
                 loadCodegenRules(targetIgnoreFile);
                 this.ignoreFile = targetIgnoreFile;
+                this.baseDirectory = targetIgnoreFile.getAbsoluteFile().getParentFile().toPath().normalize();
             } catch (IOException e) {
                 LOGGER.error(String.format(Locale.ROOT, "Could not process %s.", targetIgnoreFile.getName()), e.getMessage());
             }
@@ -108,6 +114,8 @@ public class CodegenIgnoreProcessor {
     }
 
     void loadCodegenRules(final File codegenIgnore) throws IOException {
+        this.matcher = null;
+        this.compiled = false;
         try (FileInputStream fileInputStream = new FileInputStream(codegenIgnore);
              InputStreamReader inputStreamReader = new InputStreamReader(fileInputStream, StandardCharsets.UTF_8);
              BufferedReader reader = new BufferedReader(inputStreamReader)) {
@@ -145,13 +153,19 @@ public class CodegenIgnoreProcessor {
     public boolean allowsFile(final File targetFile) {
         if (this.ignoreFile == null) return true;
 
-        File file = new File(this.ignoreFile.getAbsoluteFile().getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        boolean directoryExcluded = false;
-        boolean exclude = false;
         if (exclusionRules.size() == 0 && inclusionRules.size() == 0) {
             return true;
         }
 
+        File file = relativize(targetFile);
+        IgnoreRuleMatcher ruleMatcher = compiledRules();
+        if (ruleMatcher != null) {
+            return ruleMatcher.allows(file.getPath());
+        }
+
+        boolean directoryExcluded = false;
+        boolean exclude = false;
+
         // NOTE: We *must* process all exclusion rules
         for (int i = 0; i < exclusionRules.size(); i++) {
             Rule current = exclusionRules.get(i);
@@ -207,6 +221,23 @@ public class CodegenIgnoreProcessor {
         return Boolean.FALSE.equals(exclude);
     }
 
+    private File relativize(final File targetFile) {
+        Path target = targetFile.toPath().toAbsolutePath().normalize();
+        if (baseDirectory != null && target.startsWith(baseDirectory)) {
+            return baseDirectory.relativize(target).toFile();
+        }
+        // not under the ignore file directory, evaluated as an absolute path
+        return new File(this.ignoreFile.getAbsoluteFile().getParentFile().toURI().relativize(targetFile.toURI()).getPath());
+    }
+
+    private IgnoreRuleMatcher compiledRules() {
+        if (!compiled) {
+            matcher = IgnoreRuleMatcher.compile(exclusionRules, inclusionRules);
+            compiled = true;
+        }
+        return matcher;
+    }
+
     /**
      * Allows a consumer to manually inspect explicit "inclusion rules". That is, patterns in the ignore file which have been negated.
      *
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.ignore;
+
+import org.openapitools.codegen.ignore.rules.DirectoryRule;
+import org.openapitools.codegen.ignore.rules.FileRule;
+import org.openapitools.codegen.ignore.rules.InvalidRule;
+import org.openapitools.codegen.ignore.rules.RootedFileRule;
+import org.openapitools.codegen.ignore.rules.Rule;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The rules of an ignore file compiled for evaluating many paths, giving the same results as evaluating the rules one
+ * after the other (see {@link CodegenIgnoreProcessor#allowsFile(File)}).
+ * <p>
+ * Rules without wildcards are looked up by path: file rules in a set of paths, directory rules in a set of directories
+ * checked against each parent directory of the evaluated path. Directory rules with wildcards only depend on the parent
+ * directory of the evaluated path, so they are evaluated once per directory. Only file rules with wildcards are
+ * evaluated for each path.
+ */
+class IgnoreRuleMatcher {
+    private final RuleSet exclusions;
+    private final RuleSet inclusions;
+
+    /**
+     * @param exclusionRules the exclusion rules, in the order of the ignore file
+     * @param inclusionRules the inclusion (negated) rules, in the order of the ignore file
+     * @return the compiled matcher, or null if some of the rules can't be compiled
+     */
+    static IgnoreRuleMatcher compile(List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        RuleSet exclusions = RuleSet.compile(exclusionRules);
+        RuleSet inclusions = RuleSet.compile(inclusionRules);
+        return exclusions == null || inclusions == null ? null : new IgnoreRuleMatcher(exclusions, inclusions);
+    }
+
+    private IgnoreRuleMatcher(RuleSet exclusions, RuleSet inclusions) {
+        this.exclusions = exclusions;
+        this.inclusions = inclusions;
+    }
+
+    /**
+     * @param relativePath the path relative to the ignore file, with platform-specific separators
+     * @return true if the path is allowed
+     */
+    boolean allows(String relativePath) {
+        String path = File.separatorChar == '/' ? relativePath : relativePath.replace(File.separatorChar, '/');
+        int lastSeparator = path.lastIndexOf('/');
+        String directory = lastSeparator < 0 ? null : path.substring(0, lastSeparator);
+
+        boolean directoryExcluded = exclusions.matchesDirectory(directory);
+        boolean exclude = directoryExcluded || exclusions.matchesFile(relativePath, path);
+        if (!exclude) {
+            return true;
+        }
+
+        // Include rule can't override rules that exclude a file by some parent directory, unless it's a directory rule.
+        // e.g
+        // baz/
+        // !foo/bar/baz/
+        // NOTE: Possibly surprising side effect:
+        // foo/bar/baz/
+        // !bar/
+        if (inclusions.matchesDirectory(directory)) {
+            return true;
+        }
+        return !directoryExcluded && inclusions.matchesFile(relativePath, path);
+    }
+
+    /**
+     * Rules of the same kind (exclusion or inclusion), by way of matching.
+     */
+    private static final class RuleSet {
+        private final Set<String> literalFiles = new HashSet<>();
+        private final Set<String> literalDirectories = new HashSet<>();
+        private final List<Rule> directoryRules = new ArrayList<>();
+        private final List<Rule> fileRules = new ArrayList<>();
+        // whether the files of a directory are matched by a directory rule, by directory
+        private final Map<String, Boolean> directories = new ConcurrentHashMap<>();
+
+        static RuleSet compile(List<Rule> rules) {
+            RuleSet set = new RuleSet();
+            for (Rule rule : rules) {
+                Class<?> type = rule.getClass();
+                if (type == InvalidRule.class) {
+                    continue;
+                }
+                if (type == DirectoryRule.class) {
+                    String pattern = pattern(rule);
+                    String directory = pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : pattern;
+                    if (isLiteral(directory) && matches(rule, directory + "/_")) {
+                        set.literalDirectories.add(directory);
+                    } else {
+                        set.directoryRules.add(rule);
+                    }
+                } else if (type == FileRule.class) {
+                    String pattern = pattern(rule);
+                    if (isLiteral(pattern) && matches(rule, pattern)) {
+                        set.literalFiles.add(pattern);
+                    } else {
+                        set.fileRules.add(rule);
+                    }
+                } else if (type == RootedFileRule.class) {
+                    set.fileRules.add(rule);
+                } else {
+                    // e.g. a rule terminating the evaluation, whose result depends on the order of the rules
+                    return null;
+                }
+            }
+            return set;
+        }
+
+        private static String pattern(Rule rule) {
+            String definition = rule.getDefinition();
+            return definition.startsWith("!") ? definition.substring(1) : definition;
+        }
+
+        // guards against definitions whose pattern differs from the raw definition, e.g. because of escaping
+        private static boolean matches(Rule rule, String path) {
+            return Boolean.TRUE.equals(rule.matches(path.replace('/', File.separatorChar)));
+        }
+
+        private static boolean isLiteral(String pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                switch (pattern.charAt(i)) {
+                    case '*':
+                    case '?':
+                    case '[':
+                    case ']':
+                    case '{':
+                    case '}':
+                    case '\\':
+                    case ' ':
+                        return false;
+                    default:
+                        break;
+                }
+            }
+            // patterns like '/foo' or 'a//b' are left to the glob matcher
+            return !pattern.isEmpty() && pattern.charAt(0) != '/' && !pattern.contains("//");
+        }
+
+        /**
+         * @param directory the parent directory of a path, with '/' separators, null for the root directory
+         * @return true if a directory rule matches the directory or one of its parents
+         */
+        boolean matchesDirectory(String directory) {
+            if (directory == null || (literalDirectories.isEmpty() && directoryRules.isEmpty())) {
+                return false;
+            }
+            Boolean matches = directories.get(directory);
+            if (matches == null) {
+                int lastSeparator = directory.lastIndexOf('/');
+                matches = matchesDirectory(lastSeparator < 0 ? null : directory.substring(0, lastSeparator))
+                        || literalDirectories.contains(directory)
+                        || matchesDirectoryRule(directory);
+                directories.put(directory, matches);
+            }
+            return matches;
+        }
+
+        private boolean matchesDirectoryRule(String directory) {
+            if (directoryRules.isEmpty()) {
+                return false;
+            }
+            // directory rules match the contents of the directories they match, whatever their name
+            String path = (directory + "/_").replace('/', File.separatorChar);
+            for (Rule rule : directoryRules) {
+                if (Boolean.TRUE.equals(rule.matches(path))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param relativePath the path, with platform-specific separators
+         * @param path         the path, with '/' separators
+         * @return true if a file rule matches the path
+         */
+        boolean matchesFile(String relativePath, String path) {
+            if (literalFiles.contains(path)) {
+                return true;
+            }
+            for (Rule rule : fileRules) {
+                if (Boolean.TRUE.equals(rule.matches(relativePath))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache of compiled templates (or template sources) used by the templating engine adapters.
+ * <p>
+ * Entries are scoped by the {@link org.openapitools.codegen.api.TemplatingExecutor} which resolved them, so that
+ * a single adapter instance shared by several generation runs (e.g. different template directories or libraries)
+ * never serves a template resolved by another run. Within a scope, entries are keyed by the resolved template location.
+ *
+ * @param <T> The type of the cached value (e.g. a compiled template)
+ */
+public class CompiledTemplateCache<T> {
+    private final Map<Object, ConcurrentMap<String, T>> scopes = Collections.synchronizedMap(new WeakHashMap<>());
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the cached value for the location, computing it on first access.
+     *
+     * @param scope    The object owning the template resolution (typically the templating executor)
+     * @param location The resolved template location
+     * @param loader   Function used to compute the value on a cache miss
+     * @return The cached or newly computed value
+     */
+    public T get(Object scope, String location, Function<String, T> loader) {
+        ConcurrentMap<String, T> entries = scopes.computeIfAbsent(scope, k -> new ConcurrentHashMap<>());
+        T value = entries.get(location);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        return entries.computeIfAbsent(location, loader);
+    }
+
+    /**
+     * Removes all cached entries. Statistics are kept.
+     */
+    public void clear() {
+        scopes.clear();
+    }
+
+    /**
+     * @return The number of lookups served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups which required loading/compiling the template
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
@@ -20,6 +20,8 @@ import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Jackson2Helper;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.context.JavaBeanValueResolver;
 import com.github.jknack.handlebars.context.MapValueResolver;
 import com.github.jknack.handlebars.context.MethodValueResolver;
@@ -29,7 +31,7 @@ import com.github.jknack.handlebars.io.AbstractTemplateLoader;
 import com.github.jknack.handlebars.io.StringTemplateSource;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import com.github.jknack.handlebars.io.TemplateSource;
-import lombok.Setter;
+import lombok.Getter;
 import org.openapitools.codegen.api.AbstractTemplatingEngineAdapter;
 import org.openapitools.codegen.api.TemplatingExecutor;
 import org.openapitools.codegen.templating.handlebars.AccessAwareFieldValueResolver;
@@ -37,9 +39,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
     final Logger LOGGER = LoggerFactory.getLogger(HandlebarsEngineAdapter.class);
@@ -48,7 +53,28 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
     // We use this as a simple lookup for valid file name extensions. This adapter will inspect .mustache (built-in) and infer the relevant handlebars filename
     private final String[] canCompileFromExtensions = {".handlebars", ".hbs", ".mustache"};
     private boolean infiniteLoops = false;
-    @Setter private boolean prettyPrint = false;
+    private boolean prettyPrint = false;
+
+    private static final ValueResolver[] VALUE_RESOLVERS = {
+            MapValueResolver.INSTANCE,
+            JavaBeanValueResolver.INSTANCE,
+            MethodValueResolver.INSTANCE,
+            AccessAwareFieldValueResolver.INSTANCE
+    };
+
+    private final Map<TemplatingExecutor, Handlebars> engines = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Compiled templates, keyed by template name.
+     */
+    @Getter
+    private final CompiledTemplateCache<Template> templateCache = new CompiledTemplateCache<>();
+
+    /**
+     * Template sources resolved via {@link #findTemplate(TemplatingExecutor, String)}, keyed by location.
+     */
+    @Getter
+    private final CompiledTemplateCache<TemplateSource> sourceCache = new CompiledTemplateCache<>();
 
     /**
      * Provides an identifier used to load the adapter. This could be a name, uuid, or any other string.
@@ -63,23 +89,46 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
     @Override
     public String compileTemplate(TemplatingExecutor executor,
                                   Map<String, Object> bundle, String templateFile) throws IOException {
+        Context context = Context
+                .newBuilder(bundle)
+                .resolver(VALUE_RESOLVERS)
+                .build();
+
+        Template tmpl;
+        try {
+            tmpl = templateCache.get(executor, templateFile, location -> {
+                try {
+                    return getHandlebars(executor).compile(location);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return tmpl.apply(context);
+    }
+
+    /**
+     * Returns the configured {@link Handlebars} instance for the executor, creating it on first use.
+     * Helpers are registered once and compiled templates (including partials) are kept in a concurrent template cache.
+     *
+     * @param executor From where we can fetch the templates content
+     * @return The handlebars engine bound to the executor
+     */
+    private Handlebars getHandlebars(TemplatingExecutor executor) {
+        return engines.computeIfAbsent(executor, this::newHandlebars);
+    }
+
+    private Handlebars newHandlebars(TemplatingExecutor executor) {
         TemplateLoader loader = new AbstractTemplateLoader() {
             @Override
             public TemplateSource sourceAt(String location) {
-                return findTemplate(executor, location);
+                return sourceCache.get(executor, location, l -> findTemplate(executor, l));
             }
         };
 
-        Context context = Context
-                .newBuilder(bundle)
-                .resolver(
-                        MapValueResolver.INSTANCE,
-                        JavaBeanValueResolver.INSTANCE,
-                        MethodValueResolver.INSTANCE,
-                        AccessAwareFieldValueResolver.INSTANCE)
-                .build();
-
-        Handlebars handlebars = new Handlebars(loader);
+        Handlebars handlebars = new Handlebars(loader).with(new ConcurrentMapTemplateCache());
         handlebars.registerHelperMissing((obj, options) -> {
             LOGGER.warn(String.format(Locale.ROOT, "Unregistered helper name '%s', processing template:%n%s", options.helperName, options.fn.text()));
             return "";
@@ -90,8 +139,16 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
         handlebars.registerHelpers(org.openapitools.codegen.templating.handlebars.StringHelpers.class);
         handlebars.setInfiniteLoops(infiniteLoops);
         handlebars.setPrettyPrint(prettyPrint);
-        Template tmpl = handlebars.compile(templateFile);
-        return tmpl.apply(context);
+        return handlebars;
+    }
+
+    /**
+     * Discards the configured engines and compiled templates, e.g. after an engine setting has changed.
+     */
+    private void reset() {
+        engines.clear();
+        templateCache.clear();
+        sourceCache.clear();
     }
 
     @SuppressWarnings("java:S108")
@@ -138,8 +195,19 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
      */
     public HandlebarsEngineAdapter infiniteLoops(boolean infiniteLoops) {
         this.infiniteLoops = infiniteLoops;
+        reset();
         return this;
     }
 
+    /**
+     * Enable/disable prettyPrint setting for the Handlebars engine.
+     *
+     * @param prettyPrint Whether to enable (true) or disable (false)
+     */
+    public void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+        reset();
+    }
+
 }
 
@@ -19,7 +19,6 @@ package org.openapitools.codegen.templating;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import lombok.Getter;
-import lombok.Setter;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.api.TemplatingExecutor;
@@ -30,6 +29,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
 import java.util.Map;
 
 
@@ -48,9 +48,31 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
     }
 
     private final String[] extensions = {"mustache"};
-    @Getter @Setter
+    @Getter
     Mustache.Compiler compiler = Mustache.compiler();
 
+    /**
+     * Compiled templates, keyed by resolved template location. Included partials are compiled once per template.
+     */
+    @Getter
+    private final CompiledTemplateCache<Template> templateCache = new CompiledTemplateCache<>();
+
+    /**
+     * Raw contents of the partials loaded via {@link #findTemplate(TemplatingExecutor, String)}, keyed by resolved location.
+     */
+    @Getter
+    private final CompiledTemplateCache<String> partialCache = new CompiledTemplateCache<>();
+
+    /**
+     * Sets the compiler used for templates. Previously compiled templates are discarded as they depend on the compiler settings.
+     *
+     * @param compiler The mustache compiler
+     */
+    public void setCompiler(Mustache.Compiler compiler) {
+        this.compiler = compiler;
+        templateCache.clear();
+    }
+
     /**
      * Compiles a template into a string
      *
@@ -62,10 +84,10 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
      */
     @Override
     public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
-        Template tmpl = compiler
+        Template tmpl = templateCache.get(executor, resolveLocation(executor, templateFile), location -> compiler
                 .withLoader(name -> findTemplate(executor, name))
                 .defaultValue("")
-                .compile(executor.getFullTemplateContents(templateFile));
+                .compile(executor.getFullTemplateContents(templateFile)));
         StringWriter out = new StringWriter();
 
         // the value of bundle[MUSTACHE_PARENT_CONTEXT] is used a parent content in mustache.
@@ -86,7 +108,8 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
         for (String extension : extensions) {
             final String templateName = name + "." + extension;
             try {
-                return new StringReader(generator.getFullTemplateContents(templateName));
+                return new StringReader(partialCache.get(generator, resolveLocation(generator, templateName),
+                        location -> generator.getFullTemplateContents(templateName)));
             } catch (Exception exception) {
                 LOGGER.error("Failed to read full template {}, {}", templateName, exception.getMessage());
             }
@@ -95,6 +118,22 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
         throw new TemplateNotFoundException(name);
     }
 
+    /**
+     * Resolves the full location of a template, which accounts for the user template directory and library.
+     * Falls back to the template name when the executor can't resolve a path.
+     */
+    @SuppressWarnings("java:S1166") // fall back to the template name, lookup errors are reported when reading contents
+    private String resolveLocation(TemplatingExecutor executor, String templateFile) {
+        try {
+            Path path = executor.getFullTemplatePath(templateFile);
+            if (path != null) {
+                return path.toString();
+            }
+        } catch (Exception ignored) {
+        }
+        return templateFile;
+    }
+
     @Override
     public String[] getFileExtensions() {
         return extensions;
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Memoization of the names computed during a generation (camelized, underscored, escaped and sanitized names...).
+ * <p>
+ * The same names are computed again and again for every model, property and operation of a specification, so
+ * the cache is unbounded and lives as long as the generation: it is owned by the {@link org.openapitools.codegen.CodegenConfig},
+ * {@link #activate() activated} by the generator for the static helpers of {@link StringUtils}, and
+ * {@link #clear() cleared} once the generation completes. Lookups don't lock, so that templates can be rendered in parallel.
+ */
+public class NameCache {
+    /** Region of {@link StringUtils#camelize(String, CamelizeOption)}. */
+    public static final String CAMELIZE = "camelize";
+    /** Region of {@link StringUtils#underscore(String)}. */
+    public static final String UNDERSCORE = "underscore";
+    /** Region of {@link StringUtils#escape}. */
+    public static final String ESCAPE = "escape";
+    /** Region of {@link org.openapitools.codegen.DefaultCodegen#sanitizeName(String, String, java.util.ArrayList)}. */
+    public static final String SANITIZE_NAME = "sanitizeName";
+
+    // inherited, so that the threads rendering templates in parallel use the cache of the generation which started them
+    private static final InheritableThreadLocal<NameCache> ACTIVE = new InheritableThreadLocal<>();
+
+    private final Map<String, Map<Object, String>> regions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @return The cache activated for the current thread, null outside a generation
+     */
+    public static NameCache active() {
+        return ACTIVE.get();
+    }
+
+    /**
+     * Activates the cache for the current thread and the threads it starts, to be used in a try-with-resources block.
+     *
+     * @return The activation, restoring the previously active cache when closed
+     */
+    public Activation activate() {
+        NameCache previous = ACTIVE.get();
+        ACTIVE.set(this);
+        return () -> {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Activation of a cache, see {@link #activate()}.
+     */
+    @FunctionalInterface
+    public interface Activation extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Returns the name cached for a key, computing it on the first lookup.
+     * <p>
+     * Unlike {@link Map#computeIfAbsent(Object, Function)}, the mapping function may look up other names of the same
+     * region; concurrent lookups of a missing key may compute it more than once.
+     *
+     * @param region          The region, e.g. {@link #CAMELIZE}, as keys of different regions may be equal
+     * @param key             The key, which must implement equals and hashCode
+     * @param mappingFunction The function computing the name of a key
+     * @param <K>             The type of the keys
+     * @return The name, null if computed as null (which isn't cached)
+     */
+    public <K> String get(String region, K key, Function<? super K, String> mappingFunction) {
+        Map<Object, String> names = regions.computeIfAbsent(region, r -> new ConcurrentHashMap<>());
+        String name = names.get(key);
+        if (name != null) {
+            hits.increment();
+            return name;
+        }
+        misses.increment();
+        name = mappingFunction.apply(key);
+        if (name != null) {
+            String previous = names.putIfAbsent(key, name);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * @return The number of lookups served by the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups which computed the name
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of cached names
+     */
+    public int size() {
+        return regions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Forgets the cached names and resets the statistics.
+     */
+    public void clear() {
+        regions.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        long lookups = getHits() + getMisses();
+        return String.format(Locale.ROOT, "name cache: %d names, %d lookups, %.1f%% hits", size(), lookups,
+                lookups == 0 ? 0d : getHits() * 100d / lookups);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Collects the files passed to an external post-processor (e.g. prettier, google-java-format) and runs the
+ * post-processor once per chunk of files rather than once per file.
+ * <p>
+ * Files are grouped by command prefix, i.e. the command without its trailing file argument, which in practice
+ * groups them by file type as every generator uses a dedicated command per file extension.
+ */
+public class PostProcessFileBatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostProcessFileBatcher.class);
+
+    /**
+     * Default maximum number of files passed to a single post-processor invocation.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * Maximum length of the file arguments of a single invocation, to stay below OS command line limits (e.g. Windows).
+     */
+    static final int MAX_ARGUMENTS_LENGTH = 24_000;
+
+    private final Map<String, List<String>> pendingFiles = new LinkedHashMap<>();
+
+    /**
+     * Queues a post-processor invocation.
+     *
+     * @param commandArr The post-processor command, the last element being the file to process
+     */
+    public synchronized void add(String[] commandArr) {
+        String[] prefix = new String[commandArr.length - 1];
+        System.arraycopy(commandArr, 0, prefix, 0, prefix.length);
+        pendingFiles.computeIfAbsent(String.join(" ", prefix), k -> new ArrayList<>()).add(commandArr[commandArr.length - 1]);
+    }
+
+    /**
+     * @return Whether no invocation is queued
+     */
+    public synchronized boolean isEmpty() {
+        return pendingFiles.isEmpty();
+    }
+
+    /**
+     * Splits the queued files into commands of at most {@code batchSize} files each.
+     *
+     * @param batchSize The maximum number of files per command
+     * @return The commands to run, in queue order
+     */
+    synchronized List<List<String>> toCommands(int batchSize) {
+        List<List<String>> commands = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : pendingFiles.entrySet()) {
+            List<String> prefix = new ArrayList<>();
+            // same tokenization as Runtime.exec(String), as the command set by the user often contains parameters
+            StringTokenizer tokenizer = new StringTokenizer(entry.getKey());
+            while (tokenizer.hasMoreTokens()) {
+                prefix.add(tokenizer.nextToken());
+            }
+
+            List<String> command = new ArrayList<>(prefix);
+            int argumentsLength = 0;
+            for (String file : entry.getValue()) {
+                if (command.size() > prefix.size() &&
+                        (command.size() - prefix.size() >= batchSize || argumentsLength + file.length() > MAX_ARGUMENTS_LENGTH)) {
+                    commands.add(command);
+                    command = new ArrayList<>(prefix);
+                    argumentsLength = 0;
+                }
+                command.add(file);
+                argumentsLength += file.length() + 1;
+            }
+            commands.add(command);
+        }
+        return commands;
+    }
+
+    /**
+     * Runs the queued post-processor invocations and clears the queue.
+     *
+     * @param batchSize   The maximum number of files per process
+     * @param parallelism The maximum number of processes running concurrently
+     * @return Whether all invocations passed (true) or one of them failed (false)
+     */
+    public boolean execute(int batchSize, int parallelism) {
+        List<List<String>> commands;
+        synchronized (this) {
+            commands = toCommands(Math.max(1, batchSize));
+            pendingFiles.clear();
+        }
+        if (commands.isEmpty()) {
+            return true;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, commands.size())));
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(commands.size());
+            for (List<String> command : commands) {
+                results.add(executor.submit(() -> run(command)));
+            }
+            boolean passed = true;
+            for (Future<Boolean> result : results) {
+                passed &= result.get();
+            }
+            return passed;
+        } catch (ExecutionException e) {
+            LOGGER.error("Error running the post-processor. Exception: {}", e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while running the post-processor.");
+            // Restore interrupted state
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean run(List<String> command) {
+        final String description = command.get(0) + " (" + (command.size() - 1) + " arguments)";
+        try {
+            Process p = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            // drain the error output before waiting, formatters may print a line per file
+            String errorOutput = IOUtils.toString(p.getErrorStream(), StandardCharsets.UTF_8);
+            int exitValue = p.waitFor();
+            if (exitValue != 0) {
+                LOGGER.error("Error running the command ({}). Exit value: {}, Error output: {}", description, exitValue, errorOutput);
+                return false;
+            }
+            LOGGER.info("Successfully executed: {}", description);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Error running the command ({}). Exception: {}", description, e.getMessage());
+        } catch (InterruptedException e) {
+            LOGGER.error("Error running the command ({}). Exception: {}", description, e.getMessage());
+            // Restore interrupted state
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Directed graph of named schemas (or models), where an edge from A to B means that A references B.
+ * <p>
+ * Cycles are detected once for the whole graph with Tarjan's strongly connected components algorithm,
+ * so that circular reference checks are answered in constant time instead of walking the graph for each model.
+ * <p>
+ * The graph is a snapshot: it must be rebuilt when the references change.
+ */
+public class SchemaGraph {
+    private final Map<String, ? extends Collection<String>> references;
+
+    private Map<String, Integer> components;
+
+    /**
+     * @param references the names referenced by each node
+     */
+    public SchemaGraph(Map<String, ? extends Collection<String>> references) {
+        this.references = references;
+    }
+
+    private Collection<String> getReferences(String name) {
+        Collection<String> refs = references.get(name);
+        return refs == null ? Collections.emptySet() : refs;
+    }
+
+    /**
+     * Checks whether the reference from source to target is part of a cycle, i.e. whether source can be reached back
+     * from target. The target is expected to be one of the references of source.
+     *
+     * @param source the referencing schema name
+     * @param target the referenced schema name
+     * @return true if the reference is circular
+     */
+    public boolean isCircularReference(String source, String target) {
+        if (source.equals(target)) {
+            return true;
+        }
+        Integer component = getComponents().get(source);
+        return component != null && component.equals(components.get(target));
+    }
+
+    private Map<String, Integer> getComponents() {
+        if (components == null) {
+            computeComponents();
+        }
+        return components;
+    }
+
+    /**
+     * Tarjan's algorithm, iterative so that long reference chains don't overflow the stack.
+     */
+    private void computeComponents() {
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Deque<Frame> callStack = new ArrayDeque<>();
+        components = new HashMap<>();
+        int counter = 0;
+        int componentCount = 0;
+
+        for (String root : references.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+            callStack.push(new Frame(root, getReferences(root)));
+            index.put(root, counter);
+            lowLink.put(root, counter++);
+            stack.push(root);
+            onStack.add(root);
+
+            while (!callStack.isEmpty()) {
+                Frame frame = callStack.peek();
+                if (frame.successors.hasNext()) {
+                    String next = frame.successors.next();
+                    if (!index.containsKey(next)) {
+                        index.put(next, counter);
+                        lowLink.put(next, counter++);
+                        stack.push(next);
+                        onStack.add(next);
+                        callStack.push(new Frame(next, getReferences(next)));
+                    } else if (onStack.contains(next)) {
+                        lowLink.put(frame.node, Math.min(lowLink.get(frame.node), index.get(next)));
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                if (lowLink.get(frame.node).equals(index.get(frame.node))) {
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        components.put(member, componentCount);
+                    } while (!member.equals(frame.node));
+                    componentCount++;
+                }
+                Frame caller = callStack.peek();
+                if (caller != null) {
+                    lowLink.put(caller.node, Math.min(lowLink.get(caller.node), lowLink.get(frame.node)));
+                }
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final String node;
+        private final Iterator<String> successors;
+
+        private Frame(String node, Collection<String> successors) {
+            this.node = node;
+            this.successors = successors.iterator();
+        }
+    }
+}
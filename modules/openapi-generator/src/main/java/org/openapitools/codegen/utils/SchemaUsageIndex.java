@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Usage of the schemas in the 'components/schemas' section of an OpenAPI document, computed with a single traversal
+ * of its paths so that used/unused/form-only/children queries don't each walk the whole document.
+ * <p>
+ * The parent/children relations of the composed schemas are only computed for the used, unused and children queries.
+ * The index is a snapshot: it must be rebuilt when the document is modified.
+ */
+public class SchemaUsageIndex {
+    private static final String FORM_URLENCODED = "application/x-www-form-urlencoded";
+    private static final String MULTIPART_FORM_DATA = "multipart/form-data";
+
+    private final OpenAPI openAPI;
+    // the schemas referenced from the paths, in the order they are found
+    private final Set<String> referencedSchemas = new LinkedHashSet<>();
+    private final Set<String> schemasUsedInFormParam = new LinkedHashSet<>();
+    private final Set<String> schemasUsedInOtherCases = new HashSet<>();
+
+    private Map<String, List<String>> childrenMap;
+    private Set<String> usedSchemas;
+
+    private SchemaUsageIndex(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+        if (openAPI == null) {
+            return;
+        }
+
+        ModelUtils.visitOpenAPI(openAPI, (s, t) -> {
+            if (s != null && s.get$ref() != null) {
+                String ref = ModelUtils.getSimpleRef(s.get$ref());
+                referencedSchemas.add(ref);
+                if (FORM_URLENCODED.equalsIgnoreCase(t) || MULTIPART_FORM_DATA.equalsIgnoreCase(t)) {
+                    schemasUsedInFormParam.add(ref);
+                } else {
+                    schemasUsedInOtherCases.add(ref);
+                }
+            }
+        });
+        schemasUsedInFormParam.removeAll(schemasUsedInOtherCases);
+    }
+
+    /**
+     * Builds the usage index of an OpenAPI document.
+     *
+     * @param openAPI specification
+     * @return the index, empty if the specification is null
+     */
+    public static SchemaUsageIndex of(OpenAPI openAPI) {
+        return new SchemaUsageIndex(openAPI);
+    }
+
+    private Map<String, List<String>> getChildrenMap() {
+        if (childrenMap == null) {
+            if (openAPI == null) {
+                childrenMap = Collections.emptyMap();
+            } else {
+                try {
+                    childrenMap = ModelUtils.getChildrenMap(openAPI);
+                } catch (NullPointerException npe) {
+                    // in rare cases, such as a spec document with only one top-level oneOf schema and multiple referenced schemas,
+                    // the stream used in getChildrenMap will raise an NPE. The schemas then have no known children.
+                    childrenMap = new HashMap<>();
+                }
+            }
+        }
+        return childrenMap;
+    }
+
+    private Set<String> usedSchemas() {
+        if (usedSchemas == null) {
+            Map<String, List<String>> children = getChildrenMap();
+            Set<String> used = new LinkedHashSet<>();
+            for (String ref : referencedSchemas) {
+                used.add(ref);
+                used.addAll(children.getOrDefault(ref, Collections.emptyList()));
+            }
+            usedSchemas = used;
+        }
+        return usedSchemas;
+    }
+
+    /**
+     * @param name schema name
+     * @return true if the schema is referenced from the paths, directly or through another schema, or is a child of such a schema
+     */
+    public boolean isUsed(String name) {
+        return usedSchemas().contains(name);
+    }
+
+    /**
+     * @param name schema name
+     * @return true if the schema is referenced only in 'application/x-www-form-urlencoded' or 'multipart/form-data' content
+     */
+    public boolean isUsedOnlyInFormParam(String name) {
+        return schemasUsedInFormParam.contains(name);
+    }
+
+    /**
+     * @return the used schemas, in the order they are found
+     */
+    public List<String> getUsedSchemas() {
+        return new ArrayList<>(usedSchemas());
+    }
+
+    /**
+     * @return the unused schemas, in the order of the 'components/schemas' section
+     */
+    public List<String> getUnusedSchemas() {
+        List<String> unusedSchemas = new ArrayList<>();
+        if (openAPI != null) {
+            Set<String> used = usedSchemas();
+            for (String name : ModelUtils.getSchemas(openAPI).keySet()) {
+                if (!used.contains(name)) {
+                    unusedSchemas.add(name);
+                }
+            }
+        }
+        return unusedSchemas;
+    }
+
+    /**
+     * @return the schemas referenced only in 'application/x-www-form-urlencoded' or 'multipart/form-data' content
+     */
+    public List<String> getSchemasUsedOnlyInFormParam() {
+        return new ArrayList<>(schemasUsedInFormParam);
+    }
+
+    /**
+     * @param name schema name
+     * @return the composed schemas having this schema as parent, see {@link ModelUtils#getChildrenMap(OpenAPI)}
+     */
+    public List<String> getChildren(String name) {
+        return Collections.unmodifiableList(getChildrenMap().getOrDefault(name, Collections.emptyList()));
+    }
+}
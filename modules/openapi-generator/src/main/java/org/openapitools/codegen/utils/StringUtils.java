@@ -9,6 +9,7 @@ import org.openapitools.codegen.config.GlobalSettings;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,11 +17,13 @@ import static org.openapitools.codegen.utils.CamelizeOption.UPPERCASE_FIRST_CHAR
 
 public class StringUtils {
     /**
-     * Set the cache size (entry count) of the sanitizedNameCache, camelizedWordsCache and underscoreWordsCache.
+     * Set the cache size (entry count) of the camelizedWordsCache, underscoreWordsCache and escapedWordsCache,
+     * used outside a generation. During a generation, names are cached by the {@link NameCache} of the generator.
      */
     public static final String NAME_CACHE_SIZE_PROPERTY = "org.openapitools.codegen.utils.namecache.cachesize";
     /**
-     * Set the cache expiry (in seconds) of the sanitizedNameCache, camelizedWordsCache and underscoreWordsCache.
+     * Set the cache expiry (in seconds) of the camelizedWordsCache, underscoreWordsCache and escapedWordsCache,
+     * used outside a generation.
      */
     public static final String NAME_CACHE_EXPIRY_PROPERTY = "org.openapitools.codegen.utils.namecache.expireafter.seconds";
 
@@ -70,7 +73,7 @@ public class StringUtils {
      * @return The underscored version of the word
      */
     public static String underscore(final String word) {
-        return underscoreWordsCache.get(word, wordToUnderscore -> {
+        Function<String, String> underscorer = wordToUnderscore -> {
             String result;
             String replacementPattern = "$1_$2";
             // Replace package separator with slash.
@@ -85,7 +88,12 @@ public class StringUtils {
             result = result.replace(' ', '_');
             result = result.toLowerCase(Locale.ROOT);
             return result;
-        });
+        };
+        NameCache nameCache = NameCache.active();
+        if (nameCache != null) {
+            return nameCache.get(NameCache.UNDERSCORE, word, underscorer);
+        }
+        return underscoreWordsCache.get(word, underscorer);
     }
 
     /**
@@ -127,7 +135,7 @@ public class StringUtils {
     public static String camelize(final String inputWord, CamelizeOption camelizeOption) {
         Pair<String, CamelizeOption> key = new ImmutablePair<>(inputWord, camelizeOption);
 
-        return camelizedWordsCache.get(key, pair -> {
+        Function<Pair<String, CamelizeOption>, String> camelizer = pair -> {
             String word = pair.getKey();
             CamelizeOption option = pair.getValue();
             // Replace all slashes with dots (package separator)
@@ -193,7 +201,12 @@ public class StringUtils {
             // remove all underscore
             word = camelizeSimpleUnderscorePattern.matcher(word).replaceAll("");
             return word;
-        });
+        };
+        NameCache nameCache = NameCache.active();
+        if (nameCache != null) {
+            return nameCache.get(NameCache.CAMELIZE, key, camelizer);
+        }
+        return camelizedWordsCache.get(key, camelizer);
     }
 
     private static String lowercaseFirstLetter(String word) {
@@ -262,7 +275,7 @@ public class StringUtils {
     public static String escape(final String name, final Map<String, String> replacementMap,
                                 final List<String> charactersToAllow, final String appendToReplacement) {
         EscapedNameOptions ns = new EscapedNameOptions(name, replacementMap.keySet(), charactersToAllow, appendToReplacement);
-        return escapedWordsCache.get(ns, wordToEscape -> {
+        Function<EscapedNameOptions, String> escaper = wordToEscape -> {
             String result = name.chars().mapToObj(c -> {
                 String character = String.valueOf((char) c);
                 if (charactersToAllow != null && charactersToAllow.contains(character)) {
@@ -276,7 +289,12 @@ public class StringUtils {
 
             if (result != null) return result;
             throw new RuntimeException("Word '" + name + "' could not be escaped.");
-        });
+        };
+        NameCache nameCache = NameCache.active();
+        if (nameCache != null) {
+            return nameCache.get(NameCache.ESCAPE, ns, escaper);
+        }
+        return escapedWordsCache.get(ns, escaper);
     }
 
     /**
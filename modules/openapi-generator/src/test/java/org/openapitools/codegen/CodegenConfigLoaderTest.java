@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.openapitools.codegen.meta.GeneratorMetadata;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CodegenConfigLoaderTest {
+
+    @Test
+    public void loadsNewInstancesByName() {
+        CodegenConfig first = CodegenConfigLoader.forName("java");
+        CodegenConfig second = CodegenConfigLoader.forName("java");
+
+        assertThat(first).isInstanceOf(JavaClientCodegen.class);
+        assertThat(second).isInstanceOf(JavaClientCodegen.class).isNotSameAs(first);
+        assertThat(CodegenConfigLoader.forName(JavaClientCodegen.class.getName())).isInstanceOf(JavaClientCodegen.class);
+    }
+
+    @Test
+    public void describesGeneratorsWithoutInstances() {
+        List<CodegenConfig> all = CodegenConfigLoader.getAll();
+        List<CodegenConfigDescriptor> descriptors = CodegenConfigLoader.getGenerators();
+
+        assertThat(descriptors).extracting(CodegenConfigDescriptor::getName)
+                .containsExactlyElementsOf(all.stream().map(CodegenConfig::getName).collect(Collectors.toList()));
+        for (int i = 0; i < all.size(); i++) {
+            CodegenConfig config = all.get(i);
+            CodegenConfigDescriptor descriptor = descriptors.get(i);
+            GeneratorMetadata metadata = config.getGeneratorMetadata();
+            assertThat(descriptor.getTag()).isEqualTo(config.getTag());
+            assertThat(descriptor.getStability()).isEqualTo(metadata == null ? null : metadata.getStability());
+            assertThat(descriptor.getType()).isEqualTo(config.getClass());
+        }
+    }
+
+    @Test
+    public void listsAvailableGeneratorsWhenNotFound() {
+        assertThatThrownBy(() -> CodegenConfigLoader.forName("no-such-generator"))
+                .isInstanceOf(GeneratorNotFoundException.class)
+                .hasMessageContaining("Can't load config class with name 'no-such-generator'")
+                .hasMessageContaining("\njava\n");
+    }
+}
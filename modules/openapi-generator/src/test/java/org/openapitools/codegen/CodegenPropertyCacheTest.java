@@ -0,0 +1,63 @@
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class CodegenPropertyCacheTest {
+
+    private static Schema schema() {
+        return new ObjectSchema()
+                .addProperty("name", new StringSchema())
+                .addProperty("tag", new StringSchema().maxLength(10));
+    }
+
+    @Test
+    public void testIdentity() {
+        CodegenPropertyCache cache = new CodegenPropertyCache();
+        Schema schema = schema();
+        CodegenProperty property = new CodegenProperty();
+
+        assertNull(cache.get(cache.key("pet", schema, false, false)));
+        cache.put(cache.key("pet", schema, false, false), property);
+
+        assertSame(cache.get(cache.key("pet", schema, false, false)), property);
+        assertNull(cache.get(cache.key("pet", schema, true, false)));
+        assertNull(cache.get(cache.key("other", schema, false, false)));
+        // equal schemas that are different instances aren't shared
+        assertNull(cache.get(cache.key("pet", schema(), false, false)));
+        // nor schemas modified since their conversion
+        schema.addProperty("id", new StringSchema());
+        assertNull(cache.get(cache.key("pet", schema, false, false)));
+
+        assertEquals(cache.getIdentityHits(), 1);
+        assertEquals(cache.getDeepEqualityHits(), 0);
+        assertEquals(cache.getMisses(), 5);
+        assertEquals(cache.getHitRate(), 1.0 / 6);
+    }
+
+    @Test
+    public void testDeepEquality() {
+        GlobalSettings.setProperty(CodegenConstants.PROPERTY_CACHE_DEEP_EQUALITY, "true");
+        try {
+            CodegenPropertyCache cache = new CodegenPropertyCache();
+            CodegenProperty property = new CodegenProperty();
+            cache.put(cache.key("pet", schema(), false, false), property);
+
+            Schema copy = schema();
+            assertSame(cache.get(cache.key("pet", copy, false, false)), property);
+            assertSame(cache.get(cache.key("pet", copy, false, false)), property);
+            assertNull(cache.get(cache.key("pet", new ObjectSchema(), false, false)));
+
+            assertEquals(cache.getDeepEqualityHits(), 1);
+            assertEquals(cache.getIdentityHits(), 1);
+            assertEquals(cache.getMisses(), 1);
+        } finally {
+            GlobalSettings.clearProperty(CodegenConstants.PROPERTY_CACHE_DEEP_EQUALITY);
+        }
+    }
+}
@@ -5066,6 +5066,46 @@ public class DefaultCodegenTest {
         assertTrue(openIdScheme.isOpenId);
     }
 
+    @Test
+    public void testUpdateAllModelsLinksLargeHierarchyOnce() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.getComponents().addSchemas("Base", new ObjectSchema());
+        openAPI.getComponents().addSchemas("Event", new ObjectSchema().discriminator(new Discriminator().propertyName("type")));
+        codegen.setOpenAPI(openAPI);
+
+        Map<String, ModelsMap> objs = new LinkedHashMap<>();
+        CodegenModel base = newHierarchyModel(objs, "Base", null);
+        CodegenModel event = newHierarchyModel(objs, "Event", "Base");
+        for (int i = 0; i < 2500; i++) {
+            openAPI.getComponents().addSchemas("Event" + i, new ObjectSchema());
+            newHierarchyModel(objs, "Event" + i, "Event");
+        }
+
+        // as done by AbstractJavaCodegen#postProcessAllModels
+        codegen.updateAllModels(objs);
+        codegen.updateAllModels(objs);
+
+        assertTrue(event.hasChildren);
+        assertEquals(event.getChildren().size(), 2500);
+        assertEquals(event.permits.size(), 2500);
+        assertEquals(event.getChildren().get(0).getName(), "Event0");
+        assertEquals(event.permits.get(2499), "Event2499");
+        // the discriminator of Event stops its children from being added to Base
+        assertEquals(base.getChildren().stream().map(CodegenModel::getName).collect(Collectors.toList()), List.of("Event"));
+        assertEquals(base.permits, List.of("Event"));
+    }
+
+    private static CodegenModel newHierarchyModel(Map<String, ModelsMap> objs, String name, String parent) {
+        CodegenModel cm = new CodegenModel();
+        cm.setName(name);
+        cm.setClassname(name);
+        cm.setSchemaName(name);
+        cm.setParent(parent);
+        objs.put(name, TestUtils.createCodegenModelWrapper(cm));
+        return cm;
+    }
+
     private List<String> getRequiredVars(CodegenModel model) {
         return getNames(model.getRequiredVars());
     }
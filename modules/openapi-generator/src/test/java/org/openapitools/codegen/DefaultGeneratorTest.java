@@ -11,8 +11,10 @@ import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.apache.commons.io.FileUtils;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.languages.JavaClientCodegen;
 import org.openapitools.codegen.model.ModelMap;
 import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.utils.ModelUtils;
@@ -25,7 +27,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 public class DefaultGeneratorTest {
 
@@ -1039,6 +1044,223 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testParallelRenderingIsIdenticalToSerialRendering() throws IOException {
+        Path serialTarget = Files.createTempDirectory("test-serial");
+        Path parallelTarget = Files.createTempDirectory("test-parallel");
+        try {
+            List<File> serialFiles = generatePetstoreWithParallelism(serialTarget, "1");
+            List<File> parallelFiles = generatePetstoreWithParallelism(parallelTarget, "4");
+
+            Assert.assertEquals(relativize(parallelTarget, parallelFiles), relativize(serialTarget, serialFiles));
+            for (File file : serialFiles) {
+                Path relative = serialTarget.toAbsolutePath().relativize(file.toPath().toAbsolutePath());
+                Assert.assertEquals(Files.readAllBytes(parallelTarget.resolve(relative)), Files.readAllBytes(file.toPath()), relative.toString());
+            }
+        } finally {
+            serialTarget.toFile().deleteOnExit();
+            parallelTarget.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testSerialRenderingRendersEachTagRightAfterProcessingIt() throws IOException {
+        Path target = Files.createTempDirectory("test-serial-order");
+        try {
+            List<String> events = new ArrayList<>();
+            JavaClientCodegen codegen = new JavaClientCodegen() {
+                @Override
+                public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+                    events.add("process " + objs.getOperations().getClassname());
+                    return super.postProcessOperationsWithModels(objs, allModels);
+                }
+
+                @Override
+                public String apiFilename(String templateName, String tag) {
+                    if ("api.mustache".equals(templateName)) {
+                        events.add("render " + toApiName(tag));
+                    }
+                    return super.apiFilename(templateName, tag);
+                }
+            };
+            codegen.setOutputDir(target.toAbsolutePath().toString());
+            ClientOptInput opts = new ClientOptInput()
+                    .openAPI(TestUtils.parseFlattenSpec("src/test/resources/3_0/petstore.yaml"))
+                    .config(codegen);
+
+            DefaultGenerator generator = new DefaultGenerator(false);
+            generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, "false");
+            generator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, "false");
+            generator.setGeneratorPropertyDefault(CodegenConstants.APIS, "true");
+            generator.opts(opts).generate();
+
+            Assert.assertEquals(events, Arrays.asList("process PetApi", "render PetApi", "process StoreApi", "render StoreApi",
+                    "process UserApi", "render UserApi"));
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void testInterruptedGenerationStopsAtTheNextTag() throws IOException {
+        Path target = Files.createTempDirectory("test-interrupted");
+        try {
+            List<String> processed = new ArrayList<>();
+            JavaClientCodegen codegen = new JavaClientCodegen() {
+                @Override
+                public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+                    processed.add(objs.getOperations().getClassname());
+                    // e.g. the caller timing out
+                    Thread.currentThread().interrupt();
+                    return super.postProcessOperationsWithModels(objs, allModels);
+                }
+            };
+            codegen.setOutputDir(target.toAbsolutePath().toString());
+            ClientOptInput opts = new ClientOptInput()
+                    .openAPI(TestUtils.parseFlattenSpec("src/test/resources/3_0/petstore.yaml"))
+                    .config(codegen);
+
+            DefaultGenerator generator = new DefaultGenerator(false);
+            generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, "false");
+            generator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, "false");
+            generator.setGeneratorPropertyDefault(CodegenConstants.APIS, "true");
+            RuntimeException e = Assert.expectThrows(RuntimeException.class, () -> generator.opts(opts).generate());
+
+            Assert.assertTrue(e.getCause() instanceof InterruptedException);
+            Assert.assertTrue(Thread.currentThread().isInterrupted());
+            Assert.assertEquals(processed, Collections.singletonList("PetApi"));
+        } finally {
+            Thread.interrupted();
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void testIncrementalGenerationSkipsUnchangedFiles() throws IOException {
+        Path target = Files.createTempDirectory("test-incremental");
+        try {
+            generatePetstoreIncrementally(target);
+            Path pet = target.resolve("src/main/java/org/openapitools/client/model/Pet.java");
+            Path tag = target.resolve("src/main/java/org/openapitools/client/model/Tag.java");
+            Assert.assertTrue(Files.exists(target.resolve(".openapi-generator/FINGERPRINTS")));
+            FileTime petModified = Files.getLastModifiedTime(pet);
+            byte[] tagContent = Files.readAllBytes(tag);
+            Files.write(tag, "modified by hand".getBytes(StandardCharsets.UTF_8));
+
+            List<File> secondFiles = generatePetstoreIncrementally(target);
+
+            TestUtils.ensureContainsFile(secondFiles, target.toFile(), "src/main/java/org/openapitools/client/model/Pet.java");
+            Assert.assertEquals(Files.getLastModifiedTime(pet), petModified, "unchanged file must not be rewritten");
+            Assert.assertEquals(Files.readAllBytes(tag), tagContent, "modified file must be regenerated");
+        } finally {
+            target.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testGenerationMetrics() throws IOException {
+        Path target = Files.createTempDirectory("test-metrics");
+        try {
+            GenerationMetrics metrics = new GenerationMetrics(true);
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(target.toAbsolutePath().toString())
+                    .setGenerationMetrics(metrics);
+
+            DefaultGenerator generator = new DefaultGenerator(false);
+            generator.opts(configurator.toClientOptInput()).generate();
+
+            Assert.assertSame(generator.getGenerationMetrics(), metrics);
+            Map<String, GenerationMetrics.Stat> phases = metrics.getPhases();
+            for (String phase : Arrays.asList(GenerationMetrics.PARSE, GenerationMetrics.GENERATE, GenerationMetrics.NORMALIZE,
+                    GenerationMetrics.INLINE_MODEL_RESOLVER, GenerationMetrics.PROCESS_OPENAPI, GenerationMetrics.MODEL_CONVERSION,
+                    GenerationMetrics.MODEL_POST_PROCESSING, GenerationMetrics.OPERATION_CONVERSION, GenerationMetrics.RENDER,
+                    GenerationMetrics.WRITE, GenerationMetrics.POST_PROCESS)) {
+                Assert.assertTrue(phases.containsKey(phase), phase);
+            }
+            Assert.assertEquals(phases.get(GenerationMetrics.MODEL_CONVERSION).getCount(), 6);
+            Assert.assertEquals(metrics.getTemplates().get("model.mustache").getCount(), 6);
+            Assert.assertTrue(metrics.toJson().contains("\"model.mustache\""));
+            Assert.assertTrue(metrics.getCounters().get(GenerationMetrics.PROPERTY_CACHE_IDENTITY_HITS) > 0);
+            Assert.assertEquals(metrics.getCounters().get(GenerationMetrics.PROPERTY_CACHE_DEEP_EQUALITY_HITS), Long.valueOf(0));
+            Assert.assertTrue(metrics.getCounters().get(GenerationMetrics.NAME_CACHE_HITS) > 0);
+            // the names are only cached for the generation
+            Assert.assertEquals(generator.config.getNameCache().size(), 0);
+        } finally {
+            target.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testGenerateToArchive() throws IOException {
+        Path target = Files.createTempDirectory("test-archive");
+        try {
+            Path outputDir = target.resolve("out");
+            Path archive = target.resolve("petstore.zip");
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(outputDir.toAbsolutePath().toString());
+
+            List<File> files;
+            try (ArchiveOutputSink sink = ArchiveOutputSink.create(archive)) {
+                files = new DefaultGenerator(false).opts(configurator.toClientOptInput().outputSink(sink)).generate();
+                Assert.assertEquals(sink.size(), files.size());
+            }
+
+            // nothing is written to the output directory
+            Assert.assertFalse(Files.exists(outputDir));
+            Set<String> entries = new HashSet<>();
+            try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    entries.add(entry.getName());
+                    if ("src/main/java/org/openapitools/client/model/Pet.java".equals(entry.getName())) {
+                        Assert.assertTrue(new String(zip.readAllBytes(), StandardCharsets.UTF_8).contains("public class Pet"));
+                    }
+                }
+            }
+            Assert.assertEquals(entries.size(), files.size());
+            Assert.assertTrue(entries.contains("src/main/java/org/openapitools/client/model/Pet.java"));
+            Assert.assertTrue(entries.contains("pom.xml"));
+            Assert.assertTrue(entries.contains(".openapi-generator/FILES"));
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    private List<File> generatePetstoreIncrementally(Path target) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(target.toAbsolutePath().toString());
+
+        DefaultGenerator generator = new DefaultGenerator(false);
+        generator.setGeneratorPropertyDefault(CodegenConstants.INCREMENTAL_GENERATION, "true");
+        return generator.opts(configurator.toClientOptInput()).generate();
+    }
+
+    private List<File> generatePetstoreWithParallelism(Path target, String parallelism) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(target.toAbsolutePath().toString());
+
+        DefaultGenerator generator = new DefaultGenerator(false);
+        generator.setGeneratorPropertyDefault(CodegenConstants.PARALLELISM, parallelism);
+        return generator.opts(configurator.toClientOptInput()).generate();
+    }
+
+    private List<String> relativize(Path target, List<File> files) {
+        List<String> result = new ArrayList<>();
+        for (File file : files) {
+            result.add(target.toAbsolutePath().relativize(file.toPath().toAbsolutePath()).toString());
+        }
+        return result;
+    }
+
     private DefaultGenerator generatorGenerateRecursiveDependentModelsBackwardCompatibility(String recursively) throws IOException {
         DefaultGenerator generator = new DefaultGenerator(false);
         generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, "true");
@@ -1082,6 +1082,31 @@ public class InlineModelResolverTest {
         assertNull(schema2);
     }
 
+    @Test
+    public void testInlineSchemaReuseIsStructural() {
+        OpenAPI openapi = new OpenAPI();
+        openapi.setComponents(new Components());
+        openapi.getComponents().addSchemas("User", new ObjectSchema()
+                .addProperty("home", new ObjectSchema()
+                        .addProperty("street", new StringSchema())
+                        .addProperty("number", new IntegerSchema()))
+                .addProperty("work", new ObjectSchema()
+                        .addProperty("street", new StringSchema())
+                        .addProperty("number", new IntegerSchema()))
+                .addProperty("other", new ObjectSchema()
+                        .addProperty("street", new StringSchema())
+                        .addProperty("number", new StringSchema())));
+
+        new InlineModelResolver().flatten(openapi);
+
+        Schema user = openapi.getComponents().getSchemas().get("User");
+        // identical structures share the same schema, a different property type doesn't
+        assertEquals(((Schema) user.getProperties().get("home")).get$ref(), "#/components/schemas/User_home");
+        assertEquals(((Schema) user.getProperties().get("work")).get$ref(), "#/components/schemas/User_home");
+        assertEquals(((Schema) user.getProperties().get("other")).get$ref(), "#/components/schemas/User_other");
+        assertNull(openapi.getComponents().getSchemas().get("User_work"));
+    }
+
     @Test
     public void testInlineSchemaSkipReuseSetToTrue() {
         OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/inline_model_resolver.yaml");
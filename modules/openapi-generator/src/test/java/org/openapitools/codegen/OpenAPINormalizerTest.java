@@ -29,6 +29,7 @@ import org.testng.annotations.Test;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.Assert.*;
 
@@ -883,6 +884,27 @@ public class OpenAPINormalizerTest {
         assertEquals(openAPI.getPaths().get("/person/display/{personId}").getPut().getExtensions().get(X_INTERNAL), false);
     }
 
+    @Test
+    public void testFilterIsCreatedOncePerNormalization() {
+        OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/petstore.yaml");
+        AtomicInteger createdFilters = new AtomicInteger();
+
+        Map<String, String> options = Map.of("FILTER", "operationId:getPetById");
+        OpenAPINormalizer openAPINormalizer = new OpenAPINormalizer(openAPI, options) {
+            @Override
+            protected Filter createFilter(OpenAPI openApi, String filters) {
+                createdFilters.incrementAndGet();
+                return super.createFilter(openApi, filters);
+            }
+        };
+        openAPINormalizer.normalize();
+
+        assertTrue(openAPI.getPaths().size() > 1);
+        assertEquals(createdFilters.get(), 1);
+        assertEquals(openAPI.getPaths().get("/pet/{petId}").getGet().getExtensions().get(X_INTERNAL), false);
+        assertEquals(openAPI.getPaths().get("/pet/{petId}").getDelete().getExtensions().get(X_INTERNAL), true);
+    }
+
     private class CustomRoleFilter extends OpenAPINormalizer.Filter {
         private Set<String> filteredRoles;
 
@@ -0,0 +1,52 @@
+package org.openapitools.codegen;
+
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.*;
+
+public class OutputPathRegistryTest {
+
+    @Test
+    public void testRegister() {
+        OutputPathRegistry registry = new OutputPathRegistry();
+        Path dir = Paths.get("out").toAbsolutePath();
+
+        assertFalse(registry.register(dir.resolve("model/Pet.java")));
+        assertFalse(registry.register(dir.resolve("model/Order.java")));
+        assertTrue(registry.register(dir.resolve("model/./Pet.java")));
+        assertTrue(registry.register(dir.resolve("model/PET.java")));
+
+        assertEquals(registry.size(), 2);
+        assertTrue(registry.contains(dir.resolve("MODEL/order.java")));
+        assertFalse(registry.contains(dir.resolve("model/User.java")));
+
+        // the same path generated twice isn't a case collision
+        Map<String, List<String>> collisions = registry.getCollisions();
+        assertEquals(collisions.size(), 1);
+        assertEquals(collisions.values().iterator().next(),
+                List.of(dir.resolve("model/Pet.java").toString(), dir.resolve("model/PET.java").toString()));
+
+        registry.clear();
+        assertEquals(registry.size(), 0);
+    }
+
+    @Test
+    public void testRegisterConcurrently() {
+        OutputPathRegistry registry = new OutputPathRegistry();
+        Path dir = Paths.get("out").toAbsolutePath();
+
+        long duplicates = IntStream.range(0, 20_000).parallel()
+                .filter(i -> registry.register(dir.resolve("File" + (i % 10_000) + ".java")))
+                .count();
+
+        assertEquals(duplicates, 10_000);
+        assertEquals(registry.size(), 10_000);
+        assertTrue(registry.getCollisions().isEmpty());
+    }
+}
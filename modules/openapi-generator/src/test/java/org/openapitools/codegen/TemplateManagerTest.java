@@ -1,5 +1,6 @@
 package org.openapitools.codegen;
 
+import org.apache.commons.io.FileUtils;
 import org.openapitools.codegen.api.TemplatePathLocator;
 import org.openapitools.codegen.templating.HandlebarsEngineAdapter;
 import org.openapitools.codegen.templating.MustacheEngineAdapter;
@@ -186,6 +187,33 @@ public class TemplateManagerTest {
         }
     }
 
+    @Test
+    public void minimalUpdateComparesContentsInMemory() throws IOException {
+        TemplateManagerOptions opts = new TemplateManagerOptions(true, false);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{locator});
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Teddy");
+        data.put("age", "3");
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            File output = target.resolve("nested").resolve("simple.txt").toFile();
+            File written = manager.write(data, "simple.mustache", output);
+            assertEquals(Files.readAllLines(written.toPath()).get(0), "Teddy and 3");
+
+            // same size, different contents
+            data.put("age", "4");
+            manager.write(data, "simple.mustache", output);
+            assertEquals(Files.readAllLines(output.toPath()).get(0), "Teddy and 4");
+
+            manager.write(data, "simple.mustache", output);
+            assertEquals(Files.readAllLines(output.toPath()).get(0), "Teddy and 4");
+            assertEquals(output.getParentFile().list(), new String[]{"simple.txt"});
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
     @Test
     public void overwritesWhenSkipOverwriteFalse() throws IOException {
         TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
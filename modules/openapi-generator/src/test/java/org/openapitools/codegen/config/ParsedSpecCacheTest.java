@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParsedSpecCacheTest {
+    private static final String PETSTORE = "src/test/resources/3_0/petstore.yaml";
+
+    @Test
+    public void parsesEachSpecOnce() throws Exception {
+        ParsedSpecCache cache = new ParsedSpecCache();
+        AtomicInteger parses = new AtomicInteger();
+        ParsedSpecCache.Parser parser = (inputSpec, authorizationValues, options) -> {
+            parses.incrementAndGet();
+            return new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SwaggerParseResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.readLocation(PETSTORE, null, parseOptions(), parser)));
+            }
+            SwaggerParseResult first = results.get(0).get();
+            for (Future<SwaggerParseResult> result : results) {
+                Assert.assertEquals(Json.pretty(result.get().getOpenAPI()), Json.pretty(first.getOpenAPI()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        cache.readLocation("./" + PETSTORE, new ArrayList<>(), parseOptions(), parser);
+
+        Assert.assertEquals(parses.get(), 1);
+        Assert.assertEquals(cache.getParses(), 1);
+        Assert.assertEquals(cache.getCopies(), 8);
+
+        ParseOptions flatten = parseOptions();
+        flatten.setFlatten(true);
+        cache.readLocation(PETSTORE, null, flatten, parser);
+        cache.readLocation("src/test/resources/3_1/petstore.yaml", null, parseOptions(), parser);
+        Assert.assertEquals(parses.get(), 3);
+    }
+
+    @Test
+    public void readsAreIndependentCopies() {
+        ParsedSpecCache cache = new ParsedSpecCache();
+        ParsedSpecCache.Parser parser = (inputSpec, authorizationValues, options) -> new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+
+        OpenAPI first = cache.readLocation(PETSTORE, null, parseOptions(), parser).getOpenAPI();
+        String parsed = Json.pretty(first);
+        first.getPaths().clear();
+        first.getComponents().getSchemas().get("Pet").getProperties().remove("name");
+
+        OpenAPI second = cache.readLocation(PETSTORE, null, parseOptions(), parser).getOpenAPI();
+        Assert.assertNotSame(second, first);
+        Assert.assertEquals(Json.pretty(second), parsed);
+        second.getComponents().getSchemas().remove("Pet");
+        Assert.assertEquals(Json.pretty(cache.readLocation(PETSTORE, null, parseOptions(), parser).getOpenAPI()), parsed);
+
+        String spec31 = "src/test/resources/3_1/petstore.yaml";
+        Assert.assertEquals(cache.readLocation(spec31, null, parseOptions(), parser).getOpenAPI().getSpecVersion(), SpecVersion.V31);
+        Assert.assertEquals(cache.readLocation(spec31, null, parseOptions(), parser).getOpenAPI().getSpecVersion(), SpecVersion.V31);
+    }
+
+    @Test
+    public void sharedSpecsGenerateTheSameFiles() throws IOException {
+        ParsedSpecCache cache = new ParsedSpecCache();
+        Map<String, String> expected = generate(PETSTORE, null);
+        Assert.assertEquals(generate(PETSTORE, cache), expected);
+        Assert.assertEquals(generate(PETSTORE, cache), expected);
+        Assert.assertEquals(cache.getParses(), 1);
+        Assert.assertEquals(cache.getCopies(), 1);
+    }
+
+    private static Map<String, String> generate(String spec, ParsedSpecCache cache) throws IOException {
+        File output = Files.createTempDirectory("test").toFile();
+        try {
+            CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec(spec)
+                    .addAdditionalProperty("hideGenerationTimestamp", true)
+                    .setOutputDir(output.getAbsolutePath())
+                    .setParsedSpecCache(cache);
+            ClientOptInput clientOptInput = configurator.toClientOptInput();
+            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
+
+            Map<String, String> contents = new TreeMap<>();
+            for (File file : files) {
+                contents.put(output.toPath().relativize(file.toPath()).toString(),
+                        new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            }
+            return contents;
+        } finally {
+            GlobalSettings.reset();
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    private static ParseOptions parseOptions() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        return options;
+    }
+}
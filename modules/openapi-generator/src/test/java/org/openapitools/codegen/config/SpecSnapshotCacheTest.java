@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public class SpecSnapshotCacheTest {
+
+    @Test
+    public void cachedOpenAPI30SpecGeneratesTheSameFiles() throws IOException {
+        assertCachedGenerationIsIdentical(Paths.get("src/test/resources/3_0/petstore.yaml"));
+    }
+
+    @Test
+    public void cachedOpenAPI31SpecGeneratesTheSameFiles() throws IOException {
+        assertCachedGenerationIsIdentical(Paths.get("src/test/resources/3_1/petstore.yaml"));
+    }
+
+    @Test
+    public void cachedMultiFileSpecGeneratesTheSameFiles() throws IOException {
+        Path specDir = Files.createTempDirectory("spec");
+        try {
+            FileUtils.copyDirectory(new File("src/test/resources/3_0/external-refs"), specDir.toFile());
+            assertCachedGenerationIsIdentical(specDir.resolve("echo_api.yaml"));
+        } finally {
+            FileUtils.deleteDirectory(specDir.toFile());
+        }
+    }
+
+    @Test
+    public void changingAReferencedFileInvalidatesTheEntry() throws IOException {
+        Path specDir = Files.createTempDirectory("spec");
+        Path cacheDir = Files.createTempDirectory("spec-cache");
+        try {
+            FileUtils.copyDirectory(new File("src/test/resources/3_0/external-refs"), specDir.toFile());
+            String inputSpec = specDir.resolve("echo_api.yaml").toString();
+            Path enumFile = specDir.resolve("components/schemas/StringEnumRef.yaml");
+            Assert.assertEquals(SpecSnapshotCache.referencedFiles(Paths.get(inputSpec)).size(), 3);
+
+            SpecSnapshotCache cache = new SpecSnapshotCache(cacheDir);
+            List<?> values = enumValues(cache.readLocation(inputSpec, null, parseOptions()));
+            Assert.assertEquals(values.size(), 3);
+            try (Stream<Path> entries = Files.list(cacheDir)) {
+                Assert.assertEquals(entries.count(), 1L);
+            }
+            Path entry = cacheDir.resolve(SpecSnapshotCache.entryName(Paths.get(inputSpec), null, parseOptions()));
+            Assert.assertEquals(enumValues(SpecSnapshotCache.read(entry)), values);
+            Assert.assertEquals(enumValues(cache.readLocation(inputSpec, null, parseOptions())), values);
+
+            String contents = new String(Files.readAllBytes(enumFile), StandardCharsets.UTF_8);
+            Files.write(enumFile, contents.replace("- unclassified", "- unclassified\n  - other").getBytes(StandardCharsets.UTF_8));
+            Assert.assertNull(SpecSnapshotCache.read(entry));
+
+            Assert.assertEquals(enumValues(cache.readLocation(inputSpec, null, parseOptions())).size(), 4);
+            Assert.assertEquals(enumValues(SpecSnapshotCache.read(entry)).size(), 4);
+            try (Stream<Path> entries = Files.list(cacheDir)) {
+                Assert.assertEquals(entries.count(), 1L);
+            }
+        } finally {
+            FileUtils.deleteDirectory(specDir.toFile());
+            FileUtils.deleteDirectory(cacheDir.toFile());
+        }
+    }
+
+    @Test
+    public void filesChangedWhileParsingAreNotCached() throws IOException {
+        Path specDir = Files.createTempDirectory("spec");
+        Path cacheDir = Files.createTempDirectory("spec-cache");
+        try {
+            FileUtils.copyDirectory(new File("src/test/resources/3_0/external-refs"), specDir.toFile());
+            String inputSpec = specDir.resolve("echo_api.yaml").toString();
+            Path enumFile = specDir.resolve("components/schemas/StringEnumRef.yaml");
+            String contents = new String(Files.readAllBytes(enumFile), StandardCharsets.UTF_8);
+
+            // the file is saved once the parser read its previous contents
+            SpecSnapshotCache cache = new SpecSnapshotCache(cacheDir, (location, authorizationValues, options) -> {
+                SwaggerParseResult result = new OpenAPIParser().readLocation(location, authorizationValues, options);
+                try {
+                    Files.write(enumFile, contents.replace("- unclassified", "- unclassified\n  - other").getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return result;
+            });
+            Assert.assertEquals(enumValues(cache.readLocation(inputSpec, null, parseOptions())).size(), 3);
+            try (Stream<Path> entries = Files.list(cacheDir)) {
+                Assert.assertEquals(entries.count(), 0L);
+            }
+
+            Assert.assertEquals(enumValues(new SpecSnapshotCache(cacheDir).readLocation(inputSpec, null, parseOptions())).size(), 4);
+            Path entry = cacheDir.resolve(SpecSnapshotCache.entryName(Paths.get(inputSpec), null, parseOptions()));
+            Assert.assertEquals(enumValues(SpecSnapshotCache.read(entry)).size(), 4);
+        } finally {
+            FileUtils.deleteDirectory(specDir.toFile());
+            FileUtils.deleteDirectory(cacheDir.toFile());
+        }
+    }
+
+    @Test
+    public void remoteSpecsAreNotCached() {
+        Assert.assertNull(SpecSnapshotCache.localPath("https://example.com/openapi.yaml"));
+        Assert.assertNotNull(SpecSnapshotCache.localPath("src/test/resources/3_0/petstore.yaml"));
+        Assert.assertNotNull(SpecSnapshotCache.localPath(new File("src/test/resources/3_0/petstore.yaml").toURI().toString()));
+    }
+
+    private static void assertCachedGenerationIsIdentical(Path spec) throws IOException {
+        Path cacheDir = Files.createTempDirectory("spec-cache");
+        try {
+            Map<String, String> expected = generate(spec, null);
+            Map<String, String> miss = generate(spec, cacheDir);
+            try (Stream<Path> entries = Files.list(cacheDir)) {
+                Assert.assertEquals(entries.count(), 1L);
+            }
+            Path entry = cacheDir.resolve(SpecSnapshotCache.entryName(SpecSnapshotCache.localPath(spec.toString()), null, parseOptions()));
+            Assert.assertNotNull(SpecSnapshotCache.read(entry));
+            Map<String, String> hit = generate(spec, cacheDir);
+
+            Assert.assertEquals(miss, expected);
+            Assert.assertEquals(hit.keySet(), expected.keySet());
+            for (Map.Entry<String, String> file : expected.entrySet()) {
+                Assert.assertEquals(hit.get(file.getKey()), file.getValue(), file.getKey());
+            }
+        } finally {
+            FileUtils.deleteDirectory(cacheDir.toFile());
+        }
+    }
+
+    private static Map<String, String> generate(Path spec, Path cacheDir) throws IOException {
+        File output = Files.createTempDirectory("test").toFile();
+        try {
+            CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec(spec.toString())
+                    .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                    .setOutputDir(output.getAbsolutePath());
+            if (cacheDir != null) {
+                configurator.addGlobalProperty(CodegenConstants.SPEC_CACHE_DIR, cacheDir.toString());
+            }
+            ClientOptInput clientOptInput = configurator.toClientOptInput();
+            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
+
+            Map<String, String> contents = new TreeMap<>();
+            for (File file : files) {
+                contents.put(output.toPath().relativize(file.toPath()).toString(),
+                        new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            }
+            return contents;
+        } finally {
+            GlobalSettings.reset();
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    private static List<?> enumValues(SwaggerParseResult result) {
+        OpenAPI openAPI = result.getOpenAPI();
+        Assert.assertEquals(openAPI.getSpecVersion(), SpecVersion.V30);
+        return openAPI.getComponents().getSchemas().get("StringEnumRef").getEnum();
+    }
+
+    private static ParseOptions parseOptions() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        return options;
+    }
+}
@@ -0,0 +1,105 @@
+package org.openapitools.codegen.ignore;
+
+import org.openapitools.codegen.ignore.rules.DirectoryRule;
+import org.openapitools.codegen.ignore.rules.Rule;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class CodegenIgnoreProcessorTest {
+
+    private static final List<String> RULES = Arrays.asList(
+            "# hand-written code",
+            "README.md",
+            "docs/",
+            "!docs/keep/",
+            "src/main/java/org/openapitools/client/api/PetApi.java",
+            "src/test/",
+            "!src/test/ApiTest.java",
+            "**/*.log",
+            "!important.log",
+            "/*.txt",
+            "build/**",
+            "**/generated/",
+            "model/*Dto.java",
+            ".",
+            "");
+
+    private static final List<String> PATHS = Arrays.asList(
+            "README.md",
+            "sub/README.md",
+            "docs/index.md",
+            "docs/keep/index.md",
+            "docs/api/deep/Pet.md",
+            "src/main/java/org/openapitools/client/api/PetApi.java",
+            "src/main/java/org/openapitools/client/api/StoreApi.java",
+            "src/test/ApiTest.java",
+            "src/test/other/ApiTest.java",
+            "important.log",
+            "logs/debug.log",
+            "logs/important.log",
+            "notes.txt",
+            "sub/notes.txt",
+            "build/out/Foo.class",
+            "a/generated/Foo.java",
+            "generated/Foo.java",
+            "model/PetDto.java",
+            "model/sub/PetDto.java",
+            "model/Pet.java");
+
+    @Test
+    public void testCompiledRulesMatchSequentialEvaluation() throws IOException {
+        Path dir = Files.createTempDirectory("ignore");
+        try {
+            Files.write(dir.resolve(".openapi-generator-ignore"), RULES, StandardCharsets.UTF_8);
+            CodegenIgnoreProcessor processor = new CodegenIgnoreProcessor(dir.toString());
+
+            for (String path : PATHS) {
+                String relativePath = path.replace('/', File.separatorChar);
+                assertEquals(processor.allowsFile(dir.resolve(relativePath).toFile()), allowsSequentially(processor, relativePath), path);
+                // evaluated twice, the second time from the per-directory cache
+                assertEquals(processor.allowsFile(dir.resolve(relativePath).toFile()), allowsSequentially(processor, relativePath), path);
+            }
+
+            assertFalse(processor.allowsFile(dir.resolve("README.md").toFile()));
+            assertFalse(processor.allowsFile(dir.resolve("docs/api/deep/Pet.md").toFile()));
+            assertTrue(processor.allowsFile(dir.resolve("docs/keep/index.md").toFile()));
+            assertTrue(processor.allowsFile(dir.resolve("src/main/java/org/openapitools/client/api/StoreApi.java").toFile()));
+            assertFalse(processor.allowsFile(dir.resolve("src/test/ApiTest.java").toFile()));
+            assertTrue(processor.allowsFile(dir.resolve("important.log").toFile()));
+            assertTrue(processor.allowsFile(dir.resolve("model/sub/PetDto.java").toFile()));
+            assertTrue(processor.allowsFile(dir.resolve("docs/../model/Pet.java").toFile()));
+        } finally {
+            dir.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Reference evaluation of the rules one after the other.
+     */
+    private static boolean allowsSequentially(CodegenIgnoreProcessor processor, String relativePath) {
+        boolean exclude = false;
+        boolean directoryExcluded = false;
+        for (Rule rule : processor.getExclusionRules()) {
+            if (rule.evaluate(relativePath) == Rule.Operation.EXCLUDE) {
+                exclude = true;
+                directoryExcluded |= rule instanceof DirectoryRule;
+            }
+        }
+        for (Rule rule : processor.getInclusionRules()) {
+            if (exclude && rule.evaluate(relativePath) == Rule.Operation.INCLUDE
+                    && (rule instanceof DirectoryRule || !directoryExcluded)) {
+                exclude = false;
+            }
+        }
+        return !exclude;
+    }
+}
@@ -54,6 +54,26 @@ public class HandlebarsEngineAdapterTest {
         assertEquals(generatedFile, "Contents: 'Specific contents'");
     }
 
+    @Test(description = "templates and partials are loaded and compiled once per executor")
+    public void testCompiledTemplateCache() throws IOException {
+        // Given
+        HandlebarsEngineAdapter adapter = new HandlebarsEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplateContents("outerTemplate.hbs")).thenReturn("Contents: {{>innerTemplate}}");
+        Mockito.when(executorMock.getFullTemplateContents("innerTemplate.hbs")).thenReturn("{{name}}");
+
+        // When
+        for (String name : new String[]{"Pet", "Order", "User"}) {
+            assertEquals(adapter.compileTemplate(executorMock, Map.of("name", name), "outerTemplate.hbs"), "Contents: " + name);
+        }
+
+        // Then
+        Mockito.verify(executorMock, Mockito.times(1)).getFullTemplateContents("outerTemplate.hbs");
+        Mockito.verify(executorMock, Mockito.times(1)).getFullTemplateContents("innerTemplate.hbs");
+        assertEquals(adapter.getTemplateCache().getMissCount(), 1);
+        assertEquals(adapter.getTemplateCache().getHitCount(), 2);
+    }
+
     @Test(description = "should prioritize public getters over breaking encapsulation")
     public void testResolverPriority() throws IOException {
         // Given
@@ -0,0 +1,60 @@
+package org.openapitools.codegen.templating;
+
+import com.samskivert.mustache.Mustache;
+import org.mockito.Mockito;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public class MustacheEngineAdapterTest {
+    private static final Map<String, Object> BUNDLE = Map.of(
+            "name", "Pet",
+            CodegenConstants.MUSTACHE_PARENT_CONTEXT, new Object());
+
+    @Test(description = "templates and partials are read and compiled once per executor")
+    public void testCompiledTemplateCache() throws IOException {
+        // Given
+        MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplatePath("model.mustache")).thenReturn(Paths.get("Java", "model.mustache"));
+        Mockito.when(executorMock.getFullTemplatePath("partial.mustache")).thenReturn(Paths.get("Java", "partial.mustache"));
+        Mockito.when(executorMock.getFullTemplateContents("model.mustache")).thenReturn("Model: {{>partial}}");
+        Mockito.when(executorMock.getFullTemplateContents("partial.mustache")).thenReturn("{{name}}");
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(adapter.compileTemplate(executorMock, BUNDLE, "model.mustache"), "Model: Pet");
+        }
+
+        // Then
+        Mockito.verify(executorMock, Mockito.times(1)).getFullTemplateContents("model.mustache");
+        Mockito.verify(executorMock, Mockito.times(1)).getFullTemplateContents("partial.mustache");
+        assertEquals(adapter.getTemplateCache().getMissCount(), 1);
+        assertEquals(adapter.getTemplateCache().getHitCount(), 2);
+    }
+
+    @Test(description = "templates resolved by another executor or compiler are not reused")
+    public void testCompiledTemplateCacheInvalidation() throws IOException {
+        // Given
+        MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+        TemplatingExecutor first = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(first.getFullTemplateContents("model.mustache")).thenReturn("first {{name}}");
+        TemplatingExecutor second = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(second.getFullTemplateContents("model.mustache")).thenReturn("second {{name}}");
+
+        // When / Then
+        assertEquals(adapter.compileTemplate(first, BUNDLE, "model.mustache"), "first Pet");
+        assertEquals(adapter.compileTemplate(second, BUNDLE, "model.mustache"), "second Pet");
+
+        adapter.setCompiler(Mustache.compiler().escapeHTML(false));
+        assertEquals(adapter.compileTemplate(first, BUNDLE, "model.mustache"), "first Pet");
+        Mockito.verify(first, Mockito.times(2)).getFullTemplateContents("model.mustache");
+        assertEquals(adapter.getTemplateCache().getMissCount(), 3);
+    }
+}
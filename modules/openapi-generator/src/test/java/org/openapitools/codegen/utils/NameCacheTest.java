@@ -0,0 +1,61 @@
+package org.openapitools.codegen.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+public class NameCacheTest {
+
+    @Test
+    public void testGet() {
+        NameCache cache = new NameCache();
+        AtomicInteger computations = new AtomicInteger();
+
+        assertEquals(cache.get(NameCache.CAMELIZE, "pet_id", k -> "PetId" + computations.incrementAndGet()), "PetId1");
+        assertEquals(cache.get(NameCache.CAMELIZE, "pet_id", k -> "PetId" + computations.incrementAndGet()), "PetId1");
+        // regions don't share their names
+        assertEquals(cache.get(NameCache.UNDERSCORE, "pet_id", k -> "pet_id"), "pet_id");
+        // null names aren't cached
+        assertNull(cache.get(NameCache.ESCAPE, "x", k -> null));
+        assertNull(cache.get(NameCache.ESCAPE, "x", k -> null));
+
+        assertEquals(computations.get(), 1);
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getHits(), 1);
+        assertEquals(cache.getMisses(), 4);
+
+        cache.clear();
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getHits(), 0);
+        assertEquals(cache.getMisses(), 0);
+    }
+
+    @Test
+    public void testActivation() throws InterruptedException {
+        NameCache outer = new NameCache();
+        NameCache inner = new NameCache();
+        assertNull(NameCache.active());
+
+        try (NameCache.Activation ignored = outer.activate()) {
+            assertSame(NameCache.active(), outer);
+            try (NameCache.Activation ignored2 = inner.activate()) {
+                AtomicReference<NameCache> fromThread = new AtomicReference<>();
+                Thread thread = new Thread(() -> fromThread.set(NameCache.active()));
+                thread.start();
+                thread.join();
+                assertSame(fromThread.get(), inner);
+
+                assertEquals(StringUtils.camelize("store_order"), "StoreOrder");
+                assertEquals(StringUtils.camelize("store_order"), "StoreOrder");
+                assertEquals(inner.getMisses(), 1);
+                assertEquals(inner.getHits(), 1);
+            }
+            assertSame(NameCache.active(), outer);
+        }
+        assertNull(NameCache.active());
+        assertEquals(outer.size(), 0);
+    }
+}
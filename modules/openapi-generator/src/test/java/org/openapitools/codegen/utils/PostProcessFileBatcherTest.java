@@ -0,0 +1,57 @@
+package org.openapitools.codegen.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PostProcessFileBatcherTest {
+
+    @Test
+    public void testFilesAreGroupedByCommand() {
+        PostProcessFileBatcher batcher = new PostProcessFileBatcher();
+        batcher.add(new String[]{"prettier --write", "a.ts"});
+        batcher.add(new String[]{"gofmt", "-w", "a.go"});
+        batcher.add(new String[]{"prettier --write", "b.ts"});
+
+        List<List<String>> commands = batcher.toCommands(PostProcessFileBatcher.DEFAULT_BATCH_SIZE);
+
+        Assert.assertEquals(commands, Arrays.asList(
+                Arrays.asList("prettier", "--write", "a.ts", "b.ts"),
+                Arrays.asList("gofmt", "-w", "a.go")));
+    }
+
+    @Test
+    public void testFilesAreSplitIntoChunks() {
+        PostProcessFileBatcher batcher = new PostProcessFileBatcher();
+        for (int i = 0; i < 5; i++) {
+            batcher.add(new String[]{"fmt", "file" + i});
+        }
+
+        List<List<String>> commands = batcher.toCommands(2);
+
+        Assert.assertEquals(commands, Arrays.asList(
+                Arrays.asList("fmt", "file0", "file1"),
+                Arrays.asList("fmt", "file2", "file3"),
+                Arrays.asList("fmt", "file4")));
+    }
+
+    @Test
+    public void testChunksStayBelowArgumentsLengthLimit() {
+        PostProcessFileBatcher batcher = new PostProcessFileBatcher();
+        String longPath = String.join("", Collections.nCopies(PostProcessFileBatcher.MAX_ARGUMENTS_LENGTH / 2, "a"));
+        batcher.add(new String[]{"fmt", longPath});
+        batcher.add(new String[]{"fmt", longPath});
+
+        Assert.assertEquals(batcher.toCommands(100).size(), 2);
+    }
+
+    @Test
+    public void testExecuteWithoutQueuedFiles() {
+        PostProcessFileBatcher batcher = new PostProcessFileBatcher();
+        Assert.assertTrue(batcher.isEmpty());
+        Assert.assertTrue(batcher.execute(10, 2));
+    }
+}
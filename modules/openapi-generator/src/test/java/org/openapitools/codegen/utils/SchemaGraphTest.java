@@ -0,0 +1,45 @@
+package org.openapitools.codegen.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class SchemaGraphTest {
+
+    @Test
+    public void testCycles() {
+        Map<String, List<String>> references = new HashMap<>();
+        references.put("A", Arrays.asList("B", "String"));
+        references.put("B", Collections.singletonList("C"));
+        references.put("C", Collections.singletonList("A"));
+        references.put("D", Arrays.asList("D", "A"));
+        references.put("E", Collections.singletonList("D"));
+        SchemaGraph graph = new SchemaGraph(references);
+
+        assertTrue(graph.isCircularReference("A", "B"));
+        assertTrue(graph.isCircularReference("C", "A"));
+        assertTrue(graph.isCircularReference("D", "D"));
+        assertFalse(graph.isCircularReference("A", "String"));
+        assertFalse(graph.isCircularReference("D", "A"));
+        assertFalse(graph.isCircularReference("E", "D"));
+    }
+
+    @Test
+    public void testLongChainDoesNotOverflow() {
+        Map<String, List<String>> references = new HashMap<>();
+        int length = 100_000;
+        for (int i = 0; i < length; i++) {
+            references.put("S" + i, Collections.singletonList("S" + ((i + 1) % length)));
+        }
+        SchemaGraph graph = new SchemaGraph(references);
+
+        assertTrue(graph.isCircularReference("S0", "S1"));
+        assertTrue(graph.isCircularReference("S" + (length - 1), "S0"));
+    }
+}
@@ -0,0 +1,45 @@
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.TestUtils;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.*;
+
+public class SchemaUsageIndexTest {
+
+    @Test
+    public void testUsage() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+        SchemaUsageIndex index = SchemaUsageIndex.of(openAPI);
+
+        assertTrue(index.isUsed("SomeObj1"));
+        // children of a used parent are used
+        assertTrue(index.isUsed("AChild30"));
+        assertFalse(index.isUsed("UnusedObj1"));
+        assertFalse(index.isUsed("AChild29"));
+
+        assertTrue(index.isUsedOnlyInFormParam("SomeObj2"));
+        assertFalse(index.isUsedOnlyInFormParam("SomeObj1"));
+
+        assertEquals(index.getChildren("Parent29"), Arrays.asList("AChild29", "BChild29"));
+        assertEquals(index.getChildren("SomeObj1"), Collections.emptyList());
+
+        // queries are consistent with the ModelUtils methods
+        assertEquals(index.getUsedSchemas(), ModelUtils.getAllUsedSchemas(openAPI));
+        assertEquals(index.getUnusedSchemas(), ModelUtils.getUnusedSchemas(openAPI));
+        assertEquals(index.getSchemasUsedOnlyInFormParam(), ModelUtils.getSchemasUsedOnlyInFormParam(openAPI));
+    }
+
+    @Test
+    public void testNullSpecification() {
+        SchemaUsageIndex index = SchemaUsageIndex.of(null);
+
+        assertTrue(index.getUsedSchemas().isEmpty());
+        assertTrue(index.getUnusedSchemas().isEmpty());
+        assertTrue(index.getSchemasUsedOnlyInFormParam().isEmpty());
+    }
+}